@@ -9,6 +9,7 @@ import net.zithium.tournaments.hook.HookManager;
 import net.zithium.tournaments.hook.hooks.PlaceholderAPIHook;
 import net.zithium.tournaments.menu.MenuManager;
 import net.zithium.tournaments.objective.ObjectiveManager;
+import net.zithium.tournaments.objective.PlacedBlockTracker;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.storage.StorageManager;
 import net.zithium.tournaments.tournament.Tournament;
@@ -33,6 +34,7 @@ public final class XLTournamentsPlugin extends JavaPlugin implements XLTournamen
     private ObjectiveManager objectiveManager;
     private MenuManager menuManager;
     private HookManager hookManager;
+    private PlacedBlockTracker placedBlockTracker;
     private static boolean debugMode;
 
     private ConfigHandler messagesFile, menuFile;
@@ -58,6 +60,7 @@ public final class XLTournamentsPlugin extends JavaPlugin implements XLTournamen
         (storageManager = new StorageManager(this)).onEnable();
         (actionManager = new ActionManager(this)).onEnable();
 
+        placedBlockTracker = new PlacedBlockTracker(this);
         objectiveManager = new ObjectiveManager(this);
         tournamentManager = new TournamentManager(this);
         menuManager = new MenuManager(this);
@@ -99,6 +102,10 @@ public final class XLTournamentsPlugin extends JavaPlugin implements XLTournamen
         if (storageManager != null) {
             storageManager.onDisable();
         }
+
+        if (placedBlockTracker != null) {
+            placedBlockTracker.onDisable();
+        }
     }
 
     public void reload() {
@@ -149,6 +156,10 @@ public final class XLTournamentsPlugin extends JavaPlugin implements XLTournamen
         return objectiveManager;
     }
 
+    public PlacedBlockTracker getPlacedBlockTracker() {
+        return placedBlockTracker;
+    }
+
     public ConfigHandler getMenuFile() {
         return menuFile;
     }
@@ -88,7 +88,7 @@ public class TournamentsCommand extends CommandBase {
     public void updateSubCommand(final CommandSender sender) {
         for (Tournament tournament : plugin.getTournamentManager().getTournaments()) {
             if (tournament.getStatus() == TournamentStatus.ACTIVE) {
-                tournament.update();
+                tournament.requestUpdate();
             }
         }
         Messages.FORCE_UPDATED_TOURNAMENTS.send(sender);
@@ -112,7 +112,7 @@ public class TournamentsCommand extends CommandBase {
         sender.sendMessage("");
         sender.sendMessage(ColorUtil.color("&bIdentifier: &f" + tournament.getIdentifier()));
         sender.sendMessage(ColorUtil.color("&bStatus: &f" + tournament.getStatus().toString()));
-        sender.sendMessage(ColorUtil.color("&bParticipants Amount: &f" + tournament.getParticipants().size()));
+        sender.sendMessage(ColorUtil.color("&bParticipants Amount: &f" + tournament.getParticipantCount()));
         sender.sendMessage(ColorUtil.color("&bObjective: &f" + tournament.getObjective().getIdentifier()));
         sender.sendMessage(ColorUtil.color("&bTimeline: &f" + tournament.getTimeline()));
         sender.sendMessage(ColorUtil.color("&bTimezone: &f" + tournament.getZoneId().getId()));
@@ -125,6 +125,7 @@ public class TournamentsCommand extends CommandBase {
         org.bukkit.permissions.Permission permission = tournament.getParticipationPermission();
         sender.sendMessage(ColorUtil.color("&bParticipation Permission: &f" + (permission == null ? "N/A" : permission.getName())));
         sender.sendMessage(ColorUtil.color("&bLeaderboard Refresh: &f" + tournament.getLeaderboardRefresh()));
+        sender.sendMessage(ColorUtil.color("&bLeaderboard Size: &f" + tournament.getLeaderboardWindow()));
         Set<String> metadata = tournament.getMeta().keySet();
         sender.sendMessage(ColorUtil.color("&bMetadata: &f" + (metadata.isEmpty() ? "N/A" : metadata)));
         sender.sendMessage("");
@@ -261,7 +262,7 @@ public class TournamentsCommand extends CommandBase {
             return;
         }
 
-        if (tournament.getParticipants().containsKey(targetPlayer.getUniqueId())) {
+        if (tournament.isParticipant(targetPlayer.getUniqueId())) {
             sender.sendMessage(ColorUtil.color("&cThis player is already in this tournament."));
             return;
         }
@@ -46,7 +46,7 @@ public class WebhookListener implements Listener {
                 content = content.replace("{" + i + "_PLACE}", "Unknown");
             }
 
-            Integer playerScore = tournament.getScoreFromPosition(i);
+            long playerScore = tournament.getScoreFromPosition(i);
             content = content.replace("{" + i + "_SCORE}", String.valueOf(playerScore));
         }
 
@@ -12,8 +12,11 @@ import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,9 +34,15 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
     private static final Pattern START_DAY_PATTERN = Pattern.compile("(\\w+)_START_DAY");
     private static final Pattern END_DAY_PATTERN = Pattern.compile("(\\w+)_END_DAY");
     private static final Pattern TOURNAMENT_WINS_PATTERN = Pattern.compile("TOURNAMENT_WINS");
+    private static final long TOURNAMENT_WINS_REFRESH = TimeUnit.SECONDS.toMillis(30);
+    private static final long TOURNAMENT_WINS_EXPIRY = TimeUnit.MINUTES.toMillis(5);
 
     private final XLTournamentsPlugin plugin;
     private final TournamentManager tournamentManager;
+    // Placeholders are requested on the server thread, so wins are looked up in the background and cached.
+    // Entries that have not been requested for a while are evicted, as offline players can be requested too.
+    private final Map<UUID, CachedWins> tournamentWins = new ConcurrentHashMap<>();
+    private volatile long tournamentWinsEvicted;
 
     public PlaceholderAPIHook(XLTournamentsPlugin plugin) {
         this.plugin = plugin;
@@ -201,10 +210,37 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         try {
             final Matcher matcher = TOURNAMENT_WINS_PATTERN.matcher(identifier.toUpperCase());
             if (matcher.find()) {
-                return String.valueOf(plugin.getStorageManager().getStorageHandler().getPlayerTournamentWins(String.valueOf(uuid)));
+                return String.valueOf(getTournamentWins(uuid));
             }
         } catch (Exception ignored) {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private int getTournamentWins(UUID uuid) {
+        long now = System.currentTimeMillis();
+        evictTournamentWins(now);
+
+        CachedWins cached = tournamentWins.computeIfAbsent(uuid, key -> new CachedWins());
+        cached.requested = now;
+        if (now - cached.refreshed > TOURNAMENT_WINS_REFRESH) {
+            cached.refreshed = now;
+            plugin.getStorageManager().getAsyncStorage()
+                    .supply(handler -> handler.getPlayerTournamentWins(uuid.toString()))
+                    .thenAccept(wins -> cached.wins = wins);
+        }
+        return cached.wins;
+    }
+
+    private void evictTournamentWins(long now) {
+        if (now - tournamentWinsEvicted < TOURNAMENT_WINS_EXPIRY) return;
+        tournamentWinsEvicted = now;
+        tournamentWins.values().removeIf(cached -> now - cached.requested > TOURNAMENT_WINS_EXPIRY);
+    }
+
+    private static final class CachedWins {
+        private volatile int wins;
+        private volatile long refreshed;
+        private volatile long requested;
+    }
+}
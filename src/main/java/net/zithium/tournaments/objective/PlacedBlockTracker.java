@@ -0,0 +1,246 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.objective;
+
+import net.zithium.tournaments.XLTournamentsPlugin;
+import net.zithium.tournaments.utility.LongHashSet;
+import net.zithium.tournaments.utility.LongObjectHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of blocks placed by players, so they can be excluded from block break tournaments.
+ * <p>
+ * Placed blocks are indexed per loaded chunk as packed coordinates and saved to the chunk's
+ * persistent data container when the chunk is saved or unloaded, so they survive restarts.
+ * Marks are cleared again when the block is broken or destroyed by an explosion.
+ * <p>
+ * Placements and piston moves are recorded while any loaded tournament excludes placed blocks,
+ * including while it is waiting to start, so blocks cannot be placed ahead of a round and farmed
+ * once it begins. Must only be used from the main thread.
+ */
+public class PlacedBlockTracker implements Listener {
+
+    private final NamespacedKey key;
+    private final Map<UUID, LongObjectHashMap<PlacedChunk>> worlds;
+    private boolean tracking;
+
+    public PlacedBlockTracker(XLTournamentsPlugin plugin) {
+        this.key = new NamespacedKey(plugin, "placed_blocks");
+        this.worlds = new HashMap<>();
+
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                load(chunk);
+            }
+        }
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * @param block The block to check
+     * @return true if the block was placed by a player or moved by a piston
+     */
+    public boolean isPlaced(Block block) {
+        PlacedChunk chunk = getChunk(block);
+        return chunk != null && chunk.blocks.contains(blockKey(block));
+    }
+
+    public void mark(Block block) {
+        LongObjectHashMap<PlacedChunk> chunks = worlds.computeIfAbsent(block.getWorld().getUID(), uid -> new LongObjectHashMap<>());
+        long chunkKey = chunkKey(block.getX() >> 4, block.getZ() >> 4);
+        PlacedChunk chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new PlacedChunk(new LongHashSet());
+            chunks.put(chunkKey, chunk);
+        }
+        if (chunk.blocks.add(blockKey(block))) chunk.dirty = true;
+    }
+
+    public void unmark(Block block) {
+        PlacedChunk chunk = getChunk(block);
+        if (chunk != null && chunk.blocks.remove(blockKey(block))) chunk.dirty = true;
+    }
+
+    /**
+     * Marks blocks moved by a piston at their new position, clearing the positions they left.
+     * Positions are computed from the moved blocks and the direction, so no task has to wait
+     * for the move to complete.
+     *
+     * @param blocks    The blocks being moved
+     * @param direction The direction the blocks are moved in
+     */
+    public void markMoved(List<Block> blocks, BlockFace direction) {
+        if (blocks.isEmpty()) return;
+        for (Block block : blocks) {
+            unmark(block);
+        }
+        for (Block block : blocks) {
+            mark(block.getRelative(direction));
+        }
+    }
+
+    /**
+     * @param tracking true to record blocks placed by players and moved by pistons
+     */
+    public void setTracking(boolean tracking) {
+        this.tracking = tracking;
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Saves every loaded chunk with unsaved changes. Called when the plugin is disabled.
+     */
+    public void onDisable() {
+        for (World world : Bukkit.getWorlds()) {
+            save(world);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        load(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        LongObjectHashMap<PlacedChunk> chunks = worlds.get(chunk.getWorld().getUID());
+        if (chunks == null) return;
+
+        PlacedChunk placed = chunks.remove(chunkKey(chunk.getX(), chunk.getZ()));
+        if (placed != null && placed.dirty) save(chunk, placed);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        save(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        save(event.getWorld());
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (tracking) mark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (tracking) markMoved(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (tracking) markMoved(event.getBlocks(), event.getDirection().getOppositeFace());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        unmark(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        unmarkAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        unmarkAll(event.blockList());
+    }
+
+    private void unmarkAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            unmark(block);
+        }
+    }
+
+    private void load(Chunk chunk) {
+        long[] stored = chunk.getPersistentDataContainer().get(key, PersistentDataType.LONG_ARRAY);
+        if (stored == null || stored.length == 0) return;
+
+        worlds.computeIfAbsent(chunk.getWorld().getUID(), uid -> new LongObjectHashMap<>())
+                .put(chunkKey(chunk.getX(), chunk.getZ()), new PlacedChunk(LongHashSet.of(stored)));
+    }
+
+    private void save(World world) {
+        LongObjectHashMap<PlacedChunk> chunks = worlds.get(world.getUID());
+        if (chunks == null) return;
+
+        chunks.forEach((chunkKey, placed) -> {
+            if (!placed.dirty) return;
+            int x = (int) (chunkKey >> 32);
+            int z = (int) chunkKey;
+            if (world.isChunkLoaded(x, z)) save(world.getChunkAt(x, z), placed);
+        });
+    }
+
+    private void save(Chunk chunk, PlacedChunk placed) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (placed.blocks.isEmpty()) {
+            container.remove(key);
+        } else {
+            container.set(key, PersistentDataType.LONG_ARRAY, placed.blocks.toArray());
+        }
+        placed.dirty = false;
+    }
+
+    private PlacedChunk getChunk(Block block) {
+        LongObjectHashMap<PlacedChunk> chunks = worlds.get(block.getWorld().getUID());
+        return chunks == null ? null : chunks.get(chunkKey(block.getX() >> 4, block.getZ() >> 4));
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the position of a block within its chunk.
+     */
+    private static long blockKey(Block block) {
+        return ((long) block.getY() << 8) | ((block.getX() & 15) << 4) | (block.getZ() & 15);
+    }
+
+    private static final class PlacedChunk {
+        private final LongHashSet blocks;
+        private boolean dirty;
+
+        private PlacedChunk(LongHashSet blocks) {
+            this.blocks = blocks;
+        }
+    }
+}
@@ -16,36 +16,81 @@ import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public abstract class XLObjective implements Listener {
 
     private final String identifier;
     private boolean listenerRegistered;
     private final Map<String, Tournament> tournamentsLinked;
+    private volatile Tournament[] activeTournaments;
+    private volatile List<Tournament> activeTournamentsView;
 
     public XLObjective(String identifier) {
         this.identifier = identifier;
         tournamentsLinked = new HashMap<>();
         listenerRegistered = false;
+        activeTournaments = new Tournament[0];
+        activeTournamentsView = Collections.emptyList();
     }
 
     public abstract boolean loadTournament(Tournament tournament, FileConfiguration config);
 
-    public void addTournament(Tournament tournament) {
-        if(!listenerRegistered) {
-            Bukkit.getServer().getPluginManager().registerEvents(this, JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class));
-            listenerRegistered = true;
-        }
+    public synchronized void addTournament(Tournament tournament) {
         tournamentsLinked.put(tournament.getIdentifier(), tournament);
+        updateActiveTournaments();
+    }
+
+    public synchronized void removeTournament(Tournament tournament) {
+        tournamentsLinked.remove(tournament.getIdentifier(), tournament);
+        updateActiveTournaments();
     }
 
-    public void removeTournament(Tournament tournament) {
-        if(listenerRegistered) {
+    /**
+     * Rebuilds the cached list of active tournaments. Called whenever a tournament is linked,
+     * unlinked or changes status, so event handlers never have to filter on their own.
+     * <p>
+     * The objective's event handlers are only registered while at least one linked tournament
+     * is active, so idle objectives cost nothing to dispatch events to.
+     */
+    public synchronized void updateActiveTournaments() {
+        Tournament[] active = tournamentsLinked.values().stream()
+                .filter(tournament -> tournament.getStatus() == TournamentStatus.ACTIVE)
+                .toArray(Tournament[]::new);
+        activeTournaments = active;
+        activeTournamentsView = Collections.unmodifiableList(Arrays.asList(active));
+
+        if (active.length > 0 && !listenerRegistered) {
+            Bukkit.getServer().getPluginManager().registerEvents(this, JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class));
+            listenerRegistered = true;
+            onActivate();
+        } else if (active.length == 0 && listenerRegistered) {
             HandlerList.unregisterAll(this);
             listenerRegistered = false;
+            onDeactivate();
         }
-        tournamentsLinked.remove(tournament.getIdentifier(), tournament);
+    }
+
+    /**
+     * Called when the first linked tournament becomes active and the event handlers are registered.
+     * Objectives that track online players should pick up players that joined while idle here.
+     */
+    protected void onActivate() {
+    }
+
+    /**
+     * Called when the last active linked tournament ends and the event handlers are unregistered.
+     */
+    protected void onDeactivate() {
+    }
+
+    /**
+     * Called when a player joins a linked tournament or finishes its challenge, which changes
+     * whether they can execute the objective. May be called from any thread.
+     *
+     * @param tournament the tournament the player's participation changed in
+     * @param uuid       the UUID of the player
+     */
+    public void onParticipationChanged(Tournament tournament, UUID uuid) {
     }
 
     /**
@@ -59,17 +104,16 @@ public abstract class XLObjective implements Listener {
      *   <li>The player's current game mode is not in the tournament's disabled game modes list.</li>
      * </ul>
      *
+     * <p>World and game mode restrictions are compiled when the tournament loads and cached per player,
+     * see {@link Tournament#isEligible(UUID)}.</p>
+     *
      * @param tournament the tournament to check participation and restrictions against
      * @param player     the player whose eligibility is being verified
      * @return {@code true} if the player can execute the objective in the given tournament,
      *         {@code false} otherwise
      */
     public boolean canExecute(Tournament tournament, Player player) {
-        UUID uuid = player.getUniqueId();
-        return tournament.isParticipant(uuid)
-                && !tournament.hasFinishedChallenge(uuid)
-                && !tournament.getDisabledWorlds().contains(player.getWorld().getName())
-                && !tournament.getDisabledGamemodes().contains(player.getGameMode());
+        return tournament.isEligible(player.getUniqueId());
     }
 
 
@@ -78,6 +122,16 @@ public abstract class XLObjective implements Listener {
     }
 
     public List<Tournament> getTournaments() {
-        return Collections.unmodifiableList(tournamentsLinked.values().stream().filter(tournament -> tournament.getStatus() == TournamentStatus.ACTIVE).collect(Collectors.toList()));
+        return activeTournamentsView;
+    }
+
+    /**
+     * Gets the active tournaments linked to this objective without allocating, for use in event handlers.
+     * The returned array is shared and must not be modified.
+     *
+     * @return The active tournaments
+     */
+    public Tournament[] getActiveTournaments() {
+        return activeTournaments;
     }
 }
@@ -26,7 +26,7 @@ public class BedWars1058BedBreakObjective extends XLObjective {
     @EventHandler
     public void onPlayerBedBreak(PlayerBedBreakEvent event) {
         Player player = event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
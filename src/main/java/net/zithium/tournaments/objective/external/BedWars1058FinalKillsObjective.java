@@ -30,7 +30,7 @@ public class BedWars1058FinalKillsObjective extends XLObjective {
         Player player = event.getKiller();
         if(player == null) return;
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
@@ -28,7 +28,7 @@ public class BedWars1058KillsObjective extends XLObjective {
         Player player = event.getKiller();
         if(player == null) return;
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
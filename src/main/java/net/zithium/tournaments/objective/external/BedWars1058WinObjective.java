@@ -28,7 +28,7 @@ public class BedWars1058WinObjective extends XLObjective {
 
     @EventHandler
     public void onGameEnd(GameEndEvent event) {
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             for(UUID uuid : event.getWinners()) {
                 Player player = Bukkit.getPlayer(uuid);
                 if(player == null) continue;
@@ -27,7 +27,7 @@ public class ChatReactionObjective extends XLObjective {
     @EventHandler(priority = EventPriority.HIGH)
     public void onReactionWin(ReactionWinEvent event) {
         Player player = event.getWinner();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
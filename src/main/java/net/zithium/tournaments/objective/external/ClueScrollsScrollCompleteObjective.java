@@ -27,7 +27,7 @@ public class ClueScrollsScrollCompleteObjective extends XLObjective {
     @EventHandler(priority = EventPriority.HIGH)
     public void onClueComplete(PlayerScrollCompletedEvent event) {
         Player player = event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
@@ -29,9 +29,9 @@ public class CrackShotDamageObjective extends XLObjective {
         Player player = event.getPlayer();
         if(player == null) return;
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
-                tournament.addScore(player.getUniqueId(), (int) Math.round(event.getDamage()));
+                tournament.addScore(player.getUniqueId(), Math.round(event.getDamage()));
             }
         }
     }
@@ -27,7 +27,7 @@ public class CrazyEnvoyObjective extends XLObjective {
     @EventHandler(priority = EventPriority.HIGH)
     public void onEnvoyOpen(EnvoyOpenEvent event) {
         Player player = event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
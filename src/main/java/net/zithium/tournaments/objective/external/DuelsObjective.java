@@ -31,7 +31,7 @@ public class DuelsObjective extends XLObjective {
         Player player = Bukkit.getPlayer(event.getWinner());
         if(player == null) return;
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
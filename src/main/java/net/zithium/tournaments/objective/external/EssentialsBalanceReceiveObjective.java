@@ -32,9 +32,9 @@ public class EssentialsBalanceReceiveObjective extends XLObjective {
 
         if(newBalance > oldBalance) {
             Player player = event.getPlayer();
-            for(Tournament tournament : getTournaments()) {
+            for(Tournament tournament : getActiveTournaments()) {
                 if(canExecute(tournament, player)) {
-                    tournament.addScore(player.getUniqueId(), (int) (newBalance - oldBalance));
+                    tournament.addScore(player.getUniqueId(), newBalance - oldBalance);
                 }
             }
         }
@@ -32,9 +32,9 @@ public class EssentialsBalanceSpendObjective extends XLObjective {
 
         if(newBalance < oldBalance) {
             Player player = event.getPlayer();
-            for(Tournament tournament : getTournaments()) {
+            for(Tournament tournament : getActiveTournaments()) {
                 if(canExecute(tournament, player)) {
-                    tournament.addScore(player.getUniqueId(), (int) (oldBalance - newBalance));
+                    tournament.addScore(player.getUniqueId(), oldBalance - newBalance);
                 }
             }
         }
@@ -20,7 +20,7 @@ public class ExcellentCratesObjective extends XLObjective {
     @EventHandler
     public void onCrateOpen(CrateOpenEvent event) {
         Player player = event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
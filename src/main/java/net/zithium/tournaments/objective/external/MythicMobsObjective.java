@@ -29,7 +29,7 @@ public class MythicMobsObjective extends XLObjective {
         if(!(event.getKiller() instanceof Player)) return;
 
         Player player = (Player) event.getKiller();
-        for (Tournament tournament : getTournaments()) {
+        for (Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
@@ -35,7 +35,7 @@ public class NuVotifierObjective extends XLObjective {
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(name);
         Player player = offlinePlayer.getPlayer();
         if(offlinePlayer.isOnline() && player != null) {
-            for (Tournament tournament : getTournaments()) {
+            for (Tournament tournament : getActiveTournaments()) {
                 if (canExecute(tournament, player)) {
                     tournament.addScore(player.getUniqueId(), 1);
                 }
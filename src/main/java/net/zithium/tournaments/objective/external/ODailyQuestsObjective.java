@@ -21,7 +21,7 @@ public class ODailyQuestsObjective extends XLObjective {
     public void onQuestComplete(QuestCompletedEvent event) {
         if (event.getPlayer() == null) return;
 
-        for (Tournament tournament : getTournaments()) {
+        for (Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, event.getPlayer())) {
                 tournament.addScore(event.getPlayer().getUniqueId(), 1);
             }
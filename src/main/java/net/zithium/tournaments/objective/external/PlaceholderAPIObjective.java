@@ -13,18 +13,42 @@ import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Scores players by how much a numeric placeholder increased since they started participating.
+ * <p>
+ * Placeholders are evaluated on the main thread, as most expansions are not thread-safe. Online
+ * players are polled in rotating slices spread over {@code placeholderapi_objective_task_update}
+ * ticks, within a time budget per tick. Players whose values do not change are polled less often,
+ * up to {@link #MAX_BACKOFF} times the regular interval, until a change is seen again.
+ */
 public class PlaceholderAPIObjective extends XLObjective {
 
+    private static final int MAX_BACKOFF = 8;
+    private static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
     private final JavaPlugin JAVA_PLUGIN = JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class);
     private BukkitTask task;
-    private Map<UUID, Map<String, Integer>> placeholderOffsets;
+    private int interval;
+    private long tick;
+
+    // Only touched from the main thread.
+    private final Map<String, String> placeholders = new HashMap<>();
+    private final Map<String, Map<UUID, Offset>> placeholderOffsets = new HashMap<>();
+    private final Map<UUID, PollState> pollStates = new HashMap<>();
+    private final ArrayDeque<UUID> pollQueue = new ArrayDeque<>();
 
     public PlaceholderAPIObjective() {
         super("PLACEHOLDERAPI");
@@ -33,14 +57,14 @@ public class PlaceholderAPIObjective extends XLObjective {
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
         String objective = config.getString("objective");
-        placeholderOffsets = new HashMap<>();
         if (objective.contains(";")) {
             String placeholder = objective.substring(objective.lastIndexOf(";") + 1).replace("%", "");
             tournament.setMeta("PLACEHOLDER", placeholder);
+            placeholders.put(tournament.getIdentifier(), "%" + placeholder + "%");
 
             if (task == null || task.isCancelled()) {
-                int time = JAVA_PLUGIN.getConfig().getInt("placeholderapi_objective_task_update", 100);
-                task = Bukkit.getScheduler().runTaskTimerAsynchronously(JAVA_PLUGIN, this::updatePlaceholders, 20L, time);
+                interval = Math.max(1, JAVA_PLUGIN.getConfig().getInt("placeholderapi_objective_task_update", 100));
+                task = Bukkit.getScheduler().runTaskTimer(JAVA_PLUGIN, this::updatePlaceholders, 20L, 1L);
             }
             return true;
         }
@@ -49,35 +73,128 @@ public class PlaceholderAPIObjective extends XLObjective {
         return true;
     }
 
+    @Override
+    protected void onActivate() {
+        // Players that joined while no tournament was active were not seen by the join handler.
+        Bukkit.getScheduler().runTask(JAVA_PLUGIN, () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                track(player.getUniqueId());
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        track(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        untrack(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Polls the next slice of players. Runs every tick, so every player is visited once
+     * per interval, and stops early once the tick's time budget is used up.
+     */
     public void updatePlaceholders() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            UUID uuid = player.getUniqueId();
-            for (Tournament tournament : getTournaments()) {
-                if (tournament.hasMeta("PLACEHOLDER")) {
-                    if (!canExecute(tournament, player)) continue;
-
-                    String placeholder = (String) tournament.getMeta("PLACEHOLDER");
-                    int currentValue;
-                    try {
-                        currentValue = Integer.parseInt(PlaceholderAPI.setPlaceholders((OfflinePlayer) player, "%" + placeholder + "%"));
-                    } catch (Exception ex) {
-                        continue;
-                    }
-
-                    // Retrieve or initialize the offset map for the player
-                    if(!placeholderOffsets.containsKey(uuid)) {
-                        Map<String, Integer> playerPlaceholder =  new HashMap<>();
-                        playerPlaceholder.put(placeholder, currentValue);
-
-                        placeholderOffsets.put(uuid, playerPlaceholder);
-                    }
-                    Map<String, Integer> playerOffsets = placeholderOffsets.get(uuid);
-                    // Get the previous value (offset) for this placeholder
-                    int offsetValue = playerOffsets.get(placeholder);
-
-                    tournament.addScore(uuid, currentValue - offsetValue, true);
-                }
+        tick++;
+        if (pollQueue.isEmpty() || getActiveTournaments().length == 0) return;
+
+        int slice = (pollQueue.size() + interval - 1) / interval;
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+
+        for (int i = 0; i < slice && !pollQueue.isEmpty(); i++) {
+            UUID uuid = pollQueue.poll();
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                untrack(uuid);
+                continue;
+            }
+            pollQueue.add(uuid);
+
+            PollState state = pollStates.get(uuid);
+            if (state.nextPoll > tick) continue;
+
+            state.backoff = poll(player) ? 1 : Math.min(state.backoff * 2, MAX_BACKOFF);
+            state.nextPoll = tick + (long) interval * state.backoff;
+
+            if (System.nanoTime() > deadline) break;
+        }
+    }
+
+    /**
+     * @return true if the score of the player changed in any tournament
+     */
+    private boolean poll(Player player) {
+        UUID uuid = player.getUniqueId();
+        boolean changed = false;
+
+        for (Tournament tournament : getActiveTournaments()) {
+            String placeholder = placeholders.get(tournament.getIdentifier());
+            if (placeholder == null || !canExecute(tournament, player)) continue;
+
+            long currentValue;
+            try {
+                currentValue = Long.parseLong(PlaceholderAPI.setPlaceholders((OfflinePlayer) player, placeholder));
+            } catch (Exception ex) {
+                continue;
+            }
+
+            Map<UUID, Offset> offsets = placeholderOffsets.computeIfAbsent(tournament.getIdentifier(), identifier -> new HashMap<>());
+            Offset offset = offsets.get(uuid);
+            long score = tournament.getScore(uuid);
+
+            // Start counting from the current value, keeping any score the player already has.
+            // This also re-bases the offset after the score was reset or changed elsewhere.
+            if (offset == null) {
+                offset = new Offset();
+                offsets.put(uuid, offset);
+                offset.rebase(currentValue, score);
+            } else if (offset.score != score) {
+                offset.rebase(currentValue, score);
             }
+
+            long newScore = currentValue - offset.value;
+            if (newScore != score) {
+                tournament.addScore(uuid, newScore, true);
+                offset.score = newScore;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void track(UUID uuid) {
+        if (pollStates.putIfAbsent(uuid, new PollState()) == null) {
+            pollQueue.add(uuid);
+        }
+    }
+
+    private void untrack(UUID uuid) {
+        if (pollStates.remove(uuid) != null) {
+            pollQueue.remove(uuid);
+        }
+        for (Map<UUID, Offset> offsets : placeholderOffsets.values()) {
+            offsets.remove(uuid);
+        }
+    }
+
+    private static final class PollState {
+        private long nextPoll;
+        private int backoff = 1;
+    }
+
+    /**
+     * The placeholder value a player's score is counted from, and the score last applied.
+     */
+    private static final class Offset {
+        private long value;
+        private long score;
+
+        private void rebase(long currentValue, long score) {
+            this.value = currentValue - score;
+            this.score = score;
         }
     }
 }
@@ -25,7 +25,7 @@ public class RandomEventsWinObjective extends XLObjective {
 
     @EventHandler
     public void onEventEnd(ReventEndEvent event) {
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             for(Player player : event.getWinners()) {
                 if (canExecute(tournament, player)) {
                     tournament.addScore(player.getUniqueId(), 1);
@@ -23,7 +23,7 @@ public class XPrisonRankupObjective extends XLObjective {
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerRankup(PlayerRankUpEvent event) {
         Player player = (Player) event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
                 tournament.addScore(player.getUniqueId(), 1);
             }
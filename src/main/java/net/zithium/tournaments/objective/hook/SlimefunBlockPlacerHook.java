@@ -6,38 +6,23 @@
 package net.zithium.tournaments.objective.hook;
 
 import io.github.thebusybiscuit.slimefun4.api.events.BlockPlacerPlaceEvent;
-import net.zithium.tournaments.XLTournamentsPlugin;
-import net.zithium.tournaments.utility.universal.XBlock;
-import org.bukkit.Material;
-import org.bukkit.block.Block;
+import net.zithium.tournaments.objective.PlacedBlockTracker;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.metadata.FixedMetadataValue;
 
 public class SlimefunBlockPlacerHook implements Listener {
 
-    private final XLTournamentsPlugin plugin;
-    private boolean excludePlaced;
+    private final PlacedBlockTracker placedBlockTracker;
 
-    public SlimefunBlockPlacerHook(XLTournamentsPlugin plugin, boolean excludePlaced) {
-        this.plugin = plugin;
-        this.excludePlaced = excludePlaced;
-    }
-    
-    public void setExcludePlaced(boolean excludePlaced) {
-        this.excludePlaced = excludePlaced;
+    public SlimefunBlockPlacerHook(PlacedBlockTracker placedBlockTracker) {
+        this.placedBlockTracker = placedBlockTracker;
     }
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockPlacerPlace(BlockPlacerPlaceEvent event) {
-        Block block = event.getBlock();
-        if (excludePlaced) {
-            if ((block.getType().equals(Material.SUGAR_CANE) || block.getType().equals(Material.CACTUS)) && !XBlock.isCrop(block)) {
-                block.setMetadata("XLTPlacedBlock", new FixedMetadataValue(plugin, "SlimefunBlockPlacer"));
-            }
-
-            block.setMetadata("XLTPlacedBlock", new FixedMetadataValue(plugin, "SlimefunBlockPlacer"));
+        if (placedBlockTracker.isTracking()) {
+            placedBlockTracker.mark(event.getBlock());
         }
     }
 }
@@ -6,39 +6,48 @@
 package net.zithium.tournaments.objective.internal;
 
 import net.zithium.tournaments.XLTournamentsPlugin;
+import net.zithium.tournaments.objective.PlacedBlockTracker;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.objective.hook.SlimefunBlockPlacerHook;
 import net.zithium.tournaments.objective.hook.TEBlockExplode;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.MaterialFilter;
+import net.zithium.tournaments.utility.PointTable;
 import net.zithium.tournaments.utility.universal.XBlock;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.TNTPrimed;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.block.*;
-import org.bukkit.metadata.FixedMetadataValue;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-@SuppressWarnings("unchecked") // Suppressing unchecked warning for "List<String> whitelist"
 public class BreakObjective extends XLObjective {
 
     private final XLTournamentsPlugin plugin;
-    private boolean excludePlaced;
-    private SlimefunBlockPlacerHook slimefunHook;
+    private final PlacedBlockTracker placedBlockTracker;
+    private final Set<Tournament> explosionTournaments = ConcurrentHashMap.newKeySet();
+    private final Set<Tournament> excludePlacedTournaments = ConcurrentHashMap.newKeySet();
 
     public BreakObjective(@NotNull XLTournamentsPlugin plugin) {
         super("BLOCK_BREAK");
+        this.placedBlockTracker = plugin.getPlacedBlockTracker();
 
         // Exception handling for "TokenEnchant" plugin
         if (plugin.getServer().getPluginManager().isPluginEnabled("TokenEnchant")) {
             try {
-                Bukkit.getServer().getPluginManager().registerEvents(new TEBlockExplode(this, excludePlaced), plugin);
+                Bukkit.getServer().getPluginManager().registerEvents(new TEBlockExplode(this, placedBlockTracker), plugin);
             } catch (Exception e) {
                 // Handle the exception
                 plugin.getLogger().warning("Failed to register TokenEnchant event.");
@@ -48,8 +57,7 @@ public class BreakObjective extends XLObjective {
         // Exception handling for "Slimefun" plugin
         if (plugin.getServer().getPluginManager().isPluginEnabled("Slimefun")) {
             try {
-                slimefunHook = new SlimefunBlockPlacerHook(plugin, excludePlaced);
-                Bukkit.getServer().getPluginManager().registerEvents(slimefunHook, plugin);
+                Bukkit.getServer().getPluginManager().registerEvents(new SlimefunBlockPlacerHook(placedBlockTracker), plugin);
             } catch (Exception e) {
                 // Handle the exception
                 plugin.getLogger().warning("Failed to register Slimefun event.");
@@ -62,85 +70,135 @@ public class BreakObjective extends XLObjective {
 
     @Override
     public boolean loadTournament(Tournament tournament, @NotNull FileConfiguration config) {
-        if (config.contains("exclude_placed_blocks")) {
-            excludePlaced = config.getBoolean("exclude_placed_blocks");
-            // Update the hook with the new value
-            if (slimefunHook != null) {
-                slimefunHook.setExcludePlaced(excludePlaced);
-            }
+        if (config.getBoolean("exclude_placed_blocks", false)) {
+            excludePlacedTournaments.add(tournament);
+        } else {
+            excludePlacedTournaments.remove(tournament);
         }
+        placedBlockTracker.setTracking(!excludePlacedTournaments.isEmpty());
 
         if (config.contains("block_whitelist")) {
-            tournament.setMeta("BLOCK_WHITELIST_" + tournament.getIdentifier(), config.getStringList("block_whitelist"));
+            tournament.setMaterialWhitelist(MaterialFilter.compile(config.getStringList("block_whitelist"), Tag.REGISTRY_BLOCKS, plugin.getLogger()));
+        }
+
+        if (config.isConfigurationSection("points")) {
+            tournament.setPointTable(PointTable.compileMaterials(config.getConfigurationSection("points"), Tag.REGISTRY_BLOCKS, plugin.getLogger()));
+        }
+
+        if (config.getBoolean("count_explosions", false)) {
+            explosionTournaments.add(tournament);
         }
         return true;
     }
 
+    @Override
+    public synchronized void removeTournament(Tournament tournament) {
+        super.removeTournament(tournament);
+        explosionTournaments.remove(tournament);
+        excludePlacedTournaments.remove(tournament);
+        placedBlockTracker.setTracking(!excludePlacedTournaments.isEmpty());
+    }
+
+    /**
+     * Scores a batch of blocks broken by a player at once, such as by an explosive tool.
+     * Unripe crops are filtered out and placed blocks looked up once for all tournaments, then
+     * every tournament counts its matching blocks in a single pass and adds one score.
+     *
+     * @param player The player that broke the blocks
+     * @param blocks The blocks broken, before they are removed from the world
+     */
+    public void scoreBlocks(Player player, List<Block> blocks) {
+        scoreBlocks(player, blocks, false);
+    }
+
+    private void scoreBlocks(Player player, List<Block> blocks, boolean explosion) {
+        Tournament[] tournaments = getActiveTournaments();
+        if (tournaments.length == 0 || blocks.isEmpty()) return;
+
+        Block[] counted = new Block[blocks.size()];
+        Material[] types = new Material[counted.length];
+        boolean[] placed = new boolean[counted.length];
+        int size = 0;
+        for (Block block : blocks) {
+            if (!isGrown(block)) continue;
+            counted[size] = block;
+            placed[size] = placedBlockTracker.isPlaced(block);
+            types[size++] = block.getType();
+        }
+        if (size == 0) return;
+
+        for (Tournament tournament : tournaments) {
+            if (explosion && !explosionTournaments.contains(tournament)) continue;
+            if (!canExecute(tournament, player)) continue;
+
+            MaterialFilter whitelist = tournament.getMaterialWhitelist();
+            PointTable pointTable = tournament.getPointTable();
+            boolean excludePlaced = excludePlacedTournaments.contains(tournament);
+            long points = 0;
+            for (int i = 0; i < size; i++) {
+                if (excludePlaced && placed[i]) continue;
+                if (whitelist.matches(types[i])) {
+                    points += tournament.getPoints(pointTable.get(types[i]), player, counted[i], null, null);
+                }
+            }
+
+            if (points != 0) tournament.addScore(player.getUniqueId(), points);
+        }
+    }
+
+    private boolean isGrown(Block block) {
+        return !XBlock.isCrop(block) || XBlock.isCropFullyGrown(block);
+    }
+
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBreak(@NotNull BlockBreakEvent event) {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        if (XBlock.isCrop(block) && !XBlock.isCropFullyGrown(block)) {
+        if (!isGrown(block)) {
             return;
         }
 
-        for (Tournament tournament : getTournaments()) {
-            if (!canExecute(tournament, player) || block.hasMetadata("XLTPlacedBlock")) {
+        boolean placed = placedBlockTracker.isPlaced(block);
+        for (Tournament tournament : getActiveTournaments()) {
+            if (!canExecute(tournament, player)) {
+                continue;
+            }
+            if (placed && excludePlacedTournaments.contains(tournament)) {
                 continue;
             }
 
-            String tournamentIdentifier = tournament.getIdentifier();
-
-            if (tournament.hasMeta("BLOCK_WHITELIST_" + tournamentIdentifier)) {
-                List<String> whitelist = (List<String>) tournament.getMeta("BLOCK_WHITELIST_" + tournamentIdentifier);
-                String blockType = block.getType().toString();
-
-
-                if (whitelist.contains(blockType)) {
-                    tournament.addScore(player.getUniqueId(), 1);
-                }
-            } else {
-                // Ignore the whitelist if not present.
-                tournament.addScore(player.getUniqueId(), 1);
+            if (tournament.getMaterialWhitelist().matches(block.getType())) {
+                long points = tournament.getPoints(tournament.getPointTable().get(block.getType()), player, block, null, null);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
 
     }
 
+    /**
+     * Attributes TNT explosions to the player that lit the TNT, for tournaments with
+     * {@code count_explosions} enabled. Runs before the placed block tracker clears
+     * the exploded blocks.
+     */
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onBlockPlace(BlockPlaceEvent event) {
-        Block block = event.getBlock();
-        if (excludePlaced) {
-            if ((block.getType().equals(Material.SUGAR_CANE) || block.getType().equals(Material.CACTUS)) && !XBlock.isCrop(block)) {
-                block.setMetadata("XLTPlacedBlock", new FixedMetadataValue(plugin, event.getPlayer().getName()));
-            }
+    public void onEntityExplode(EntityExplodeEvent event) {
+        if (explosionTournaments.isEmpty()) return;
 
-            block.setMetadata("XLTPlacedBlock", new FixedMetadataValue(plugin, event.getPlayer().getName()));
+        Player player = getResponsiblePlayer(event.getEntity());
+        if (player != null) {
+            scoreBlocks(player, event.blockList(), true);
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onPistonExtend(BlockPistonExtendEvent event) {
-        for (Block block : event.getBlocks()) {
-            Location to = block.getLocation().add(event.getDirection().getDirection());
-            trackMovedBlock(to);
+    private Player getResponsiblePlayer(Entity entity) {
+        if (entity instanceof TNTPrimed tnt) {
+            entity = tnt.getSource();
         }
-    }
-
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onPistonRetract(BlockPistonRetractEvent event) {
-        for (Block block : event.getBlocks()) {
-            Location to = block.getLocation().add(event.getDirection().getOppositeFace().getDirection());
-            trackMovedBlock(to);
+        if (entity instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) {
+            return shooter;
         }
-    }
-
-    private void trackMovedBlock(Location movedTo) {
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            Block newBlock = movedTo.getBlock();
-            newBlock.setMetadata("XLTPlacedBlock", new FixedMetadataValue(plugin, true));
-        }, 20L); // Delay by 20 tick to wait for the move to complete
+        return entity instanceof Player player ? player : null;
     }
 
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package net.zithium.tournaments.objective.internal;
 
+import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.MaterialFilter;
+import net.zithium.tournaments.utility.PointTable;
 import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -10,9 +14,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-
-import java.util.HashSet;
-import java.util.Set;
+import org.bukkit.plugin.java.JavaPlugin;
 
 public class CraftTournament extends XLObjective {
 
@@ -24,8 +26,13 @@ public class CraftTournament extends XLObjective {
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
         if (config.contains("item_whitelist")) {
-            Set<String> itemWhitelist = new HashSet<>(config.getStringList("item_whitelist"));
-            tournament.setMeta("ITEM_WHITELIST", itemWhitelist);
+            tournament.setMaterialWhitelist(MaterialFilter.compile(config.getStringList("item_whitelist"), Tag.REGISTRY_ITEMS,
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()));
+        }
+
+        if (config.isConfigurationSection("points")) {
+            tournament.setPointTable(PointTable.compileMaterials(config.getConfigurationSection("points"), Tag.REGISTRY_ITEMS,
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()));
         }
         return true;
     }
@@ -57,23 +64,16 @@ public class CraftTournament extends XLObjective {
         }
 
         // Apply the score to active tournaments
-        for (Tournament tournament : getTournaments()) {
+        for (Tournament tournament : getActiveTournaments()) {
             if (!canExecute(tournament, player)) continue;
 
-            Set<String> itemWhitelist = getItemWhitelist(tournament);
-            if (itemWhitelist == null || itemWhitelist.contains(craftedItem.getType().toString())) {
-                tournament.addScore(player.getUniqueId(), amount);
+            if (tournament.getMaterialWhitelist().matches(craftedItem.getType())) {
+                long points = tournament.getPoints(amount * tournament.getPointTable().get(craftedItem.getType()), player, null, craftedItem.getType(), null);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
 
-    private Set<String> getItemWhitelist(Tournament tournament) {
-        if (tournament.hasMeta("ITEM_WHITELIST")) {
-            return (Set<String>) tournament.getMeta("ITEM_WHITELIST");
-        }
-        return null;
-    }
-
     private int calculateMaxCrafts(CraftItemEvent event) {
         ItemStack[] matrix = event.getInventory().getMatrix();
         int maxCrafts = Integer.MAX_VALUE;
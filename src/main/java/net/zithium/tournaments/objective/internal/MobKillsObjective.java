@@ -5,16 +5,22 @@
 
 package net.zithium.tournaments.objective.internal;
 
+import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.PointTable;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
 
 public class MobKillsObjective extends XLObjective {
 
@@ -25,11 +31,21 @@ public class MobKillsObjective extends XLObjective {
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
         if(config.contains("mob_whitelist")) {
-            tournament.setMeta("MOB_WHITELIST", config.getStringList("mob_whitelist"));
+            Set<EntityType> whitelist = EnumSet.noneOf(EntityType.class);
+            for (String type : config.getStringList("mob_whitelist")) {
+                try {
+                    whitelist.add(EntityType.valueOf(type.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()
+                            .warning("Unknown mob type '" + type + "' in the mob whitelist of tournament " + tournament.getIdentifier() + ".");
+                }
+            }
+            tournament.setEntityWhitelist(whitelist);
         }
 
-        if (config.contains("player_kills_only")) {
-            tournament.setMeta("PLAYER_KILLS_ONLY", config.getBoolean("player_kills_only"));
+        if (config.isConfigurationSection("points")) {
+            tournament.setPointTable(PointTable.compileEntities(config.getConfigurationSection("points"),
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()));
         }
         return true;
     }
@@ -41,20 +57,15 @@ public class MobKillsObjective extends XLObjective {
 
         Player player = entity.getKiller();
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
 
-                if(tournament.hasMeta("MOB_WHITELIST") && !((List<String>) tournament.getMeta("MOB_WHITELIST")).contains(entity.getType().toString())) {
+                if(!tournament.isEntityWhitelisted(entity.getType())) {
                     continue;
                 }
 
-                if (tournament.hasMeta("PLAYER_KILLS_ONLY")) {
-                    if (entity.getKiller() != player) {
-                        return;
-                    }
-                }
-
-                tournament.addScore(player.getUniqueId(), 1);
+                long points = tournament.getPoints(tournament.getPointTable().get(entity.getType()), player, null, null, entity.getType());
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
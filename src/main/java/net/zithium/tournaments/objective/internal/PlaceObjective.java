@@ -5,15 +5,18 @@
 
 package net.zithium.tournaments.objective.internal;
 
+import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.MaterialFilter;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockPlaceEvent;
-
-import java.util.List;
+import org.bukkit.plugin.java.JavaPlugin;
 
 public class PlaceObjective extends XLObjective {
 
@@ -24,7 +27,8 @@ public class PlaceObjective extends XLObjective {
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
         if(config.contains("block_whitelist")) {
-            tournament.setMeta("BLOCK_WHITELIST", config.getStringList("block_whitelist"));
+            tournament.setMaterialWhitelist(MaterialFilter.compile(config.getStringList("block_whitelist"), Tag.REGISTRY_BLOCKS,
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()));
         }
         return true;
     }
@@ -32,14 +36,16 @@ public class PlaceObjective extends XLObjective {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
-        for(Tournament tournament : getTournaments()) {
+        Block block = event.getBlock();
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
 
-                if(tournament.hasMeta("BLOCK_WHITELIST") && !((List<String>) tournament.getMeta("BLOCK_WHITELIST")).contains(event.getBlock().getType().toString())) {
+                if(!tournament.getMaterialWhitelist().matches(block.getType())) {
                     continue;
                 }
 
-                tournament.addScore(player.getUniqueId(), 1);
+                long points = tournament.getPoints(1, player, block, null, null);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
@@ -1,16 +1,20 @@
 package net.zithium.tournaments.objective.internal;
 
+import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.MaterialFilter;
+import net.zithium.tournaments.utility.PointTable;
 import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerItemConsumeEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.logging.Logger;
 
 public class PlayerConsumeObjective extends XLObjective {
 
@@ -20,14 +24,21 @@ public class PlayerConsumeObjective extends XLObjective {
 
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
+        Logger logger = JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger();
+        MaterialFilter filter = MaterialFilter.ALL;
+
         if (config.contains("item_whitelist")) {
-            Set<String> itemWhitelist = new HashSet<>(config.getStringList("item_whitelist"));
-            tournament.setMeta("ITEM_WHITELIST_" + tournament.getIdentifier(), itemWhitelist);
+            filter = MaterialFilter.compile(config.getStringList("item_whitelist"), Tag.REGISTRY_ITEMS, logger);
         }
 
+        // The blacklist is folded into the whitelist, so a single lookup decides both.
         if (config.contains("item_blacklist")) {
-            Set<String> itemBlacklist = new HashSet<>(config.getStringList("item_blacklist"));
-            tournament.setMeta("ITEM_BLACKLIST_" + tournament.getIdentifier(), itemBlacklist);
+            filter = filter.without(MaterialFilter.compile(config.getStringList("item_blacklist"), Tag.REGISTRY_ITEMS, logger));
+        }
+        tournament.setMaterialWhitelist(filter);
+
+        if (config.isConfigurationSection("points")) {
+            tournament.setPointTable(PointTable.compileMaterials(config.getConfigurationSection("points"), Tag.REGISTRY_ITEMS, logger));
         }
         return true;
     }
@@ -43,32 +54,12 @@ public class PlayerConsumeObjective extends XLObjective {
 
         Material consumedMaterial = consumedItem.getType();
 
-        for (Tournament tournament : getTournaments()) {
+        for (Tournament tournament : getActiveTournaments()) {
             if (!canExecute(tournament, player)) continue;
 
-            String tournamentIdentifier = tournament.getIdentifier();
-
-            // Check blacklist first
-            if (tournament.hasMeta("ITEM_BLACKLIST_" + tournamentIdentifier)) {
-                @SuppressWarnings("unchecked")
-                Set<String> blacklist = (Set<String>) tournament.getMeta("ITEM_BLACKLIST_" + tournamentIdentifier);
-
-                if (blacklist.contains(consumedMaterial.toString())) {
-                    continue; // skip scoring for this tournament
-                }
-            }
-
-            // Check whitelist if it exists
-            if (tournament.hasMeta("ITEM_WHITELIST_" + tournamentIdentifier)) {
-                @SuppressWarnings("unchecked")
-                Set<String> whitelist = (Set<String>) tournament.getMeta("ITEM_WHITELIST_" + tournamentIdentifier);
-
-                if (whitelist.contains(consumedMaterial.toString())) {
-                    tournament.addScore(player.getUniqueId(), 1);
-                }
-            } else {
-                // No whitelist → allow all items (except blacklisted ones already filtered above)
-                tournament.addScore(player.getUniqueId(), 1);
+            if (tournament.getMaterialWhitelist().matches(consumedMaterial)) {
+                long points = tournament.getPoints(tournament.getPointTable().get(consumedMaterial), player, null, consumedMaterial, null);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
@@ -6,13 +6,19 @@
 package net.zithium.tournaments.objective.internal;
 
 import net.momirealms.customfishing.api.event.FishingResultEvent;
+import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.utility.PointTable;
+import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerFishEvent;
+import org.bukkit.plugin.java.JavaPlugin;
 
 public class PlayerFishObjective extends XLObjective {
 
@@ -22,6 +28,10 @@ public class PlayerFishObjective extends XLObjective {
 
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
+        if (config.isConfigurationSection("points")) {
+            tournament.setPointTable(PointTable.compileMaterials(config.getConfigurationSection("points"), Tag.REGISTRY_ITEMS,
+                    JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class).getLogger()));
+        }
         return true;
     }
 
@@ -30,9 +40,12 @@ public class PlayerFishObjective extends XLObjective {
         if (event.getState() != PlayerFishEvent.State.CAUGHT_FISH) return;
 
         Player player = event.getPlayer();
-        for (Tournament tournament : getTournaments()) {
+        Material caught = event.getCaught() instanceof Item item ? item.getItemStack().getType() : null;
+        for (Tournament tournament : getActiveTournaments()) {
             if (canExecute(tournament, player)) {
-                tournament.addScore(player.getUniqueId(), 1);
+                int weight = caught == null ? 1 : tournament.getPointTable().get(caught);
+                long points = tournament.getPoints(weight, player, null, caught, null);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
@@ -43,9 +56,10 @@ public class PlayerFishObjective extends XLObjective {
 
         if(event.getResult().equals(FishingResultEvent.Result.SUCCESS))
         {
-            for(Tournament tournament : getTournaments()) {
+            for(Tournament tournament : getActiveTournaments()) {
                 if(canExecute(tournament, player)) {
-                    tournament.addScore(player.getUniqueId(), 1);
+                    long points = tournament.getPoints(1, player, null, null, null);
+                    if (points != 0) tournament.addScore(player.getUniqueId(), points);
                 }
             }
         }
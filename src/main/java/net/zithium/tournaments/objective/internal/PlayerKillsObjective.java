@@ -8,6 +8,7 @@ package net.zithium.tournaments.objective.internal;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -29,9 +30,10 @@ public class PlayerKillsObjective extends XLObjective {
         if (event.getEntity().getKiller() == null) return;
         Player player = event.getEntity().getKiller();
 
-        for(Tournament tournament : getTournaments()) {
+        for(Tournament tournament : getActiveTournaments()) {
             if(canExecute(tournament, player)) {
-                tournament.addScore(player.getUniqueId(), 1);
+                long points = tournament.getPoints(1, player, null, null, EntityType.PLAYER);
+                if (points != 0) tournament.addScore(player.getUniqueId(), points);
             }
         }
     }
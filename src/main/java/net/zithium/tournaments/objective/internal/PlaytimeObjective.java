@@ -3,15 +3,42 @@ package net.zithium.tournaments.objective.internal;
 import net.zithium.tournaments.XLTournamentsPlugin;
 import net.zithium.tournaments.objective.XLObjective;
 import net.zithium.tournaments.tournament.Tournament;
+import net.zithium.tournaments.tournament.TournamentStatus;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Counts the seconds a player spends online while eligible for a tournament.
+ * <p>
+ * Each player has a session holding the time their playtime was last counted and the tournaments
+ * they were eligible for since then. Eligibility is only re-evaluated when it can change (quit,
+ * world or game mode change, joining a tournament or finishing its challenge, a tournament
+ * starting or ending). While a tournament is active a periodic flush adds the time played by
+ * sessions with eligible tournaments, without re-evaluating them. Leftover milliseconds carry
+ * over to the next count, so scores are accurate to the second.
+ * Sessions are only touched from the main thread.
+ */
 public class PlaytimeObjective extends XLObjective {
 
+    private static final Tournament[] NO_TOURNAMENTS = new Tournament[0];
+
     private final JavaPlugin plugin = JavaPlugin.getProvidingPlugin(XLTournamentsPlugin.class);
+    private final Map<UUID, Session> sessions = new HashMap<>();
     private BukkitTask task;
 
     public PlaytimeObjective() {
@@ -20,23 +47,157 @@ public class PlaytimeObjective extends XLObjective {
 
     @Override
     public boolean loadTournament(Tournament tournament, FileConfiguration config) {
+        return true;
+    }
+
+    @Override
+    protected void onActivate() {
         if (task == null || task.isCancelled()) {
             int intervalTicks = plugin.getConfig().getInt("playtime_objective_task_update", 200);
-            task = Bukkit.getScheduler().runTaskTimer(plugin, this::updatePlaytime, 20L, intervalTicks);
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, intervalTicks, intervalTicks);
         }
-        return true;
     }
 
-    private void updatePlaytime() {
+    @Override
+    protected void onDeactivate() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Counts playtime for everyone whenever a tournament starts or ends, so each tournament
+     * only receives the time played while it was active.
+     */
+    @Override
+    public synchronized void updateActiveTournaments() {
+        super.updateActiveTournaments();
+        if (Bukkit.isPrimaryThread()) {
+            realizeAll();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, this::realizeAll);
+        }
+    }
+
+    /**
+     * Counts the time played so far, then picks up the tournaments the player is now eligible for.
+     */
+    @Override
+    public void onParticipationChanged(Tournament tournament, UUID uuid) {
+        if (tournament.getStatus() != TournamentStatus.ACTIVE) return;
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(plugin, () -> onParticipationChanged(tournament, uuid));
+            return;
+        }
+
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) realize(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // Participation is loaded asynchronously, so check eligibility once it is in place.
+        Player player = event.getPlayer();
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) realize(player);
+        }, 20L);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        realize(event.getPlayer());
+        sessions.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        realizeAndRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerGameModeChange(PlayerGameModeChangeEvent event) {
+        realizeAndRefresh(event.getPlayer());
+    }
+
+    /**
+     * Counts the time spent under the old restrictions now, then picks up the new ones on the
+     * next tick once the tournaments' restriction caches have been updated.
+     */
+    private void realizeAndRefresh(Player player) {
+        realize(player);
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) realize(player);
+        });
+    }
+
+    private void realizeAll() {
         for (Player player : Bukkit.getOnlinePlayers()) {
-            for (Tournament tournament : getTournaments()) {
-                if (canExecute(tournament, player)) {
-                    int intervalTicks = plugin.getConfig().getInt("playtime_objective_task_update", 200);
-                    int seconds = intervalTicks / 20; // convert ticks → seconds
-
-                    tournament.addScore(player.getUniqueId(), seconds);
-                }
-            }
+            realize(player);
+        }
+    }
+
+    /**
+     * Adds the time played since the last count to the tournaments each session was already
+     * eligible for. Players only get a session once their eligibility is evaluated, so players
+     * that joined since the last flush are counted from then rather than from the previous flush.
+     */
+    private void flush() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, Session> entry : sessions.entrySet()) {
+            Session session = entry.getValue();
+            if (session.eligible.length == 0) continue;
+            credit(entry.getKey(), session, now);
+        }
+    }
+
+    /**
+     * Adds the whole seconds played since the last count to the tournaments the player was
+     * eligible for, then re-evaluates which tournaments they are eligible for.
+     */
+    private void realize(Player player) {
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            session = new Session(now);
+            sessions.put(player.getUniqueId(), session);
+        }
+
+        credit(player.getUniqueId(), session, now);
+
+        session.eligible = findEligible(player);
+        // Nothing to count towards, so restart the clock rather than carrying time over.
+        if (session.eligible.length == 0) session.since = now;
+    }
+
+    private void credit(UUID uuid, Session session, long now) {
+        long seconds = (now - session.since) / 1000L;
+        if (seconds <= 0) return;
+
+        for (Tournament tournament : session.eligible) {
+            tournament.addScore(uuid, seconds);
+        }
+        session.since += seconds * 1000L;
+    }
+
+    private Tournament[] findEligible(Player player) {
+        Tournament[] active = getActiveTournaments();
+        List<Tournament> eligible = null;
+        for (Tournament tournament : active) {
+            if (!canExecute(tournament, player)) continue;
+            if (eligible == null) eligible = new ArrayList<>(active.length);
+            eligible.add(tournament);
+        }
+        return eligible == null ? NO_TOURNAMENTS : eligible.toArray(NO_TOURNAMENTS);
+    }
+
+    private static final class Session {
+        private long since;
+        private Tournament[] eligible;
+
+        private Session(long since) {
+            this.since = since;
+            this.eligible = NO_TOURNAMENTS;
         }
     }
 }
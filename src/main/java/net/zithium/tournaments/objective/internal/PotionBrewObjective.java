@@ -59,7 +59,7 @@ public class PotionBrewObjective extends XLObjective {
 
                         // Only award points if the potion has not been scored
                         if (value == null) {
-                            for (Tournament tournament : getTournaments()) {
+                            for (Tournament tournament : getActiveTournaments()) {
                                 if (canExecute(tournament, player)) {
                                     tournament.addScore(player.getUniqueId(), 1);
                                 }
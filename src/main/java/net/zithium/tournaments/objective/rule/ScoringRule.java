@@ -0,0 +1,81 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.objective.rule;
+
+import net.zithium.tournaments.utility.MaterialFilter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A single compiled scoring rule. Every condition is optional; a rule matches an event when all of
+ * its configured conditions match. Conditions are checked cheapest first, so enum set lookups
+ * run before the world, biome and permission checks.
+ */
+final class ScoringRule {
+
+    private final int points;
+    private final MaterialFilter materials;
+    private final MaterialFilter items;
+    private final MaterialFilter tools;
+    private final Set<EntityType> entities;
+    private final Set<Biome> biomes;
+    private final String[] worldNames;
+    private final UUID[] worldIds;
+    private final Permission permission;
+
+    ScoringRule(int points, MaterialFilter materials, MaterialFilter items, MaterialFilter tools,
+                Set<EntityType> entities, Set<Biome> biomes, String[] worldNames, Permission permission) {
+        this.points = points;
+        this.materials = materials;
+        this.items = items;
+        this.tools = tools;
+        this.entities = entities;
+        this.biomes = biomes;
+        this.worldNames = worldNames;
+        this.worldIds = worldNames == null ? null : new UUID[worldNames.length];
+        this.permission = permission;
+    }
+
+    int getPoints() {
+        return points;
+    }
+
+    boolean matches(Player player, Block block, Material item, EntityType entity) {
+        if (materials != null && (block == null || !materials.matches(block.getType()))) return false;
+        if (items != null && (item == null || !items.matches(item))) return false;
+        if (entities != null && (entity == null || !entities.contains(entity))) return false;
+        if (tools != null && !tools.matches(player.getInventory().getItemInMainHand().getType())) return false;
+        if (worldNames != null && !matchesWorld(block != null ? block.getWorld() : player.getWorld())) return false;
+        if (biomes != null && !biomes.contains(block != null ? block.getBiome() : player.getLocation().getBlock().getBiome())) return false;
+        return permission == null || player.hasPermission(permission);
+    }
+
+    /**
+     * Worlds are configured by name but compared by UID, resolved the first time each world is loaded.
+     */
+    private boolean matchesWorld(World world) {
+        UUID uid = world.getUID();
+        for (int i = 0; i < worldIds.length; i++) {
+            UUID id = worldIds[i];
+            if (id == null) {
+                World configured = Bukkit.getWorld(worldNames[i]);
+                if (configured == null) continue;
+                id = worldIds[i] = configured.getUID();
+            }
+            if (id.equals(uid)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.objective.rule;
+
+import net.zithium.tournaments.utility.MaterialFilter;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.block.Biome;
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * The scoring rules of a tournament, compiled from the {@code rules} section of its file.
+ * <p>
+ * Rules are checked in order and the first matching rule decides the points awarded per unit of
+ * the objective (per block, kill, crafted item, ...). When rules are configured but none match,
+ * the event is worth nothing.
+ * <pre>
+ * rules:
+ *   - points: 5
+ *     material: [DIAMOND_ORE, "*_DEEPSLATE_ORE"]
+ *     tool: [NETHERITE_PICKAXE]
+ *   - points: 1
+ *     world: [world]
+ *     biome: [DESERT]
+ *     entity: [ZOMBIE]
+ *     item: ["#minecraft:logs"]
+ *     permission: xltournaments.bonus
+ * </pre>
+ */
+public final class ScoringRules {
+
+    private final ScoringRule[] rules;
+
+    private ScoringRules(ScoringRule[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * @param section The list of rules as read from the configuration
+     * @param logger  Logger to report invalid entries
+     * @return The compiled rules
+     */
+    public static ScoringRules compile(List<Map<?, ?>> section, Logger logger) {
+        List<ScoringRule> rules = new ArrayList<>();
+        for (Map<?, ?> rule : section) {
+            int points;
+            try {
+                points = Integer.parseInt(String.valueOf(rule.containsKey("points") ? rule.get("points") : 1));
+            } catch (NumberFormatException e) {
+                logger.warning("Invalid scoring rule points '" + rule.get("points") + "', skipping rule.");
+                continue;
+            }
+
+            Object permission = rule.get("permission");
+            List<String> worlds = getStringList(rule, "world");
+            rules.add(new ScoringRule(points,
+                    rule.containsKey("material") ? MaterialFilter.compile(getStringList(rule, "material"), Tag.REGISTRY_BLOCKS, logger) : null,
+                    rule.containsKey("item") ? MaterialFilter.compile(getStringList(rule, "item"), Tag.REGISTRY_ITEMS, logger) : null,
+                    rule.containsKey("tool") ? MaterialFilter.compile(getStringList(rule, "tool"), Tag.REGISTRY_ITEMS, logger) : null,
+                    rule.containsKey("entity") ? compileEnums(getStringList(rule, "entity"), EntityType.class, logger) : null,
+                    rule.containsKey("biome") ? compileEnums(getStringList(rule, "biome"), Biome.class, logger) : null,
+                    worlds.isEmpty() ? null : worlds.toArray(new String[0]),
+                    permission == null ? null : new Permission(permission.toString())));
+        }
+        return new ScoringRules(rules.toArray(new ScoringRule[0]));
+    }
+
+    /**
+     * @param amount The amount the objective would award without rules
+     * @param player The player that triggered the event
+     * @param block  The block involved in the event, or null
+     * @param item   The item involved in the event, or null
+     * @param entity The entity involved in the event, or null
+     * @return The points of the first matching rule times the amount, or 0 if no rule matches.
+     */
+    public long evaluate(long amount, Player player, Block block, Material item, EntityType entity) {
+        for (ScoringRule rule : rules) {
+            if (rule.matches(player, block, item, entity)) return amount * rule.getPoints();
+        }
+        return 0;
+    }
+
+    private static List<String> getStringList(Map<?, ?> rule, String key) {
+        Object value = rule.get(key);
+        if (value == null) return Collections.emptyList();
+        if (!(value instanceof List<?> list)) return Collections.singletonList(value.toString());
+
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object entry : list) {
+            strings.add(String.valueOf(entry));
+        }
+        return strings;
+    }
+
+    private static <E extends Enum<E>> Set<E> compileEnums(List<String> names, Class<E> type, Logger logger) {
+        Set<E> values = EnumSet.noneOf(type);
+        for (String name : names) {
+            try {
+                values.add(Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Unknown " + type.getSimpleName() + " '" + name + "' in scoring rule.");
+            }
+        }
+        return values;
+    }
+}
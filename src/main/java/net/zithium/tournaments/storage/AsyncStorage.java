@@ -0,0 +1,128 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.storage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs storage calls off the server thread and hands back their result as a
+ * {@link CompletableFuture}, so callers on the server thread never wait on the database.
+ * <p>
+ * Writes run one at a time on a single writer thread in the order they were submitted, so
+ * writes for the same player and tournament never overtake each other. Reads run on a pool
+ * sized to the amount of connections the storage handler can use at once, so queued reads
+ * wait for a thread rather than for a connection. Calls submitted once storage is shut down
+ * run on the calling thread, so nothing is lost while the plugin is disabling.
+ */
+public class AsyncStorage {
+
+    private final StorageHandler handler;
+    private final ExecutorService executor;
+    private final ExecutorService writer;
+    private final Logger logger;
+
+    AsyncStorage(StorageHandler handler, int threads, Logger logger) {
+        this.handler = handler;
+        this.logger = logger;
+
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "XLTournaments Storage #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "XLTournaments Storage Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a write behind every write submitted before it.
+     *
+     * @param task The storage call to run
+     * @return A future completed once the call has finished
+     */
+    public CompletableFuture<Void> run(Consumer<StorageHandler> task) {
+        return write(handler -> {
+            task.accept(handler);
+            return null;
+        });
+    }
+
+    /**
+     * Queues a write behind every write submitted before it.
+     *
+     * @param task The storage call to run
+     * @param <T>  The type of the result
+     * @return A future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> write(Function<StorageHandler, T> task) {
+        return submit(task, writer);
+    }
+
+    /**
+     * Runs a read on the pool. Reads are not ordered with writes, so a read that must observe a
+     * queued write has to be chained on that write's future.
+     *
+     * @param task The storage call to run
+     * @param <T>  The type of the result
+     * @return A future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> supply(Function<StorageHandler, T> task) {
+        return submit(task, executor);
+    }
+
+    private <T> CompletableFuture<T> submit(Function<StorageHandler, T> task, ExecutorService executor) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> task.apply(handler), executor);
+        } catch (RejectedExecutionException ex) {
+            try {
+                future = CompletableFuture.completedFuture(task.apply(handler));
+            } catch (RuntimeException failure) {
+                future = CompletableFuture.failedFuture(failure);
+            }
+        }
+
+        future.whenComplete((result, failure) -> {
+            if (failure != null) logger.log(Level.SEVERE, "Error while running a storage task", failure);
+        });
+        return future;
+    }
+
+    /**
+     * Stops accepting new calls and waits for queued calls to finish. Reads are drained first,
+     * as they may still queue writes.
+     */
+    void shutdown() {
+        shutdown(executor);
+        shutdown(writer);
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for pending storage tasks to finish.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
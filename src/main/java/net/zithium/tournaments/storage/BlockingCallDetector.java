@@ -0,0 +1,77 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.storage;
+
+import org.bukkit.Bukkit;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Wraps a {@link StorageHandler} to report calls made on the server thread, which stall the
+ * server for the duration of the query. Each method is reported once, with the stack trace of
+ * the caller, so it can be moved to {@link AsyncStorage}.
+ * <p>
+ * Lifecycle and table creation methods are expected to run while the plugin enables or
+ * disables and are not reported, nor are methods that only touch memory or anything called
+ * while blocking is allowed. Creating a tournament table migrates legacy scores and loads the
+ * active round, so it is reported like any other query.
+ */
+final class BlockingCallDetector implements InvocationHandler {
+
+    // Only read or switch the rounds kept in memory.
+    private static final Set<String> IN_MEMORY = Set.of("getActiveRound", "setActiveRound");
+    // Table creation that reads or migrates data rather than only running DDL.
+    private static final Set<String> DATA_CREATES = Set.of("createTournamentTable");
+
+    private final StorageHandler handler;
+    private final Logger logger;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private volatile boolean blockingAllowed;
+
+    private BlockingCallDetector(StorageHandler handler, Logger logger) {
+        this.handler = handler;
+        this.logger = logger;
+    }
+
+    static BlockingCallDetector of(StorageHandler handler, Logger logger) {
+        return new BlockingCallDetector(handler, logger);
+    }
+
+    StorageHandler proxy() {
+        return (StorageHandler) Proxy.newProxyInstance(StorageHandler.class.getClassLoader(), new Class<?>[]{StorageHandler.class}, this);
+    }
+
+    void setBlockingAllowed(boolean blockingAllowed) {
+        this.blockingAllowed = blockingAllowed;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == StorageHandler.class && !blockingAllowed && Bukkit.isPrimaryThread() && isQuery(method.getName())
+                && reported.add(method.getName())) {
+            logger.log(Level.WARNING, "Blocking storage call StorageHandler#" + method.getName() + " made on the server thread.",
+                    new IllegalStateException("Storage call on the server thread"));
+        }
+
+        try {
+            return method.invoke(handler, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static boolean isQuery(String name) {
+        if (name.startsWith("on") || IN_MEMORY.contains(name)) return false;
+        return !name.startsWith("create") || DATA_CREATES.contains(name);
+    }
+}
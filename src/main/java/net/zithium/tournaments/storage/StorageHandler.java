@@ -25,13 +25,23 @@ public interface StorageHandler {
      */
     void onDisable();
 
+    /**
+     * Get the amount of storage calls that can run at the same time
+     *
+     * @return The size of the connection pool, or 1 if calls are serialized
+     */
+    default int getMaxConcurrency() {
+        return 1;
+    }
+
     /**
      * Called to create the queue table
      */
     void createQueueTable();
 
     /**
-     * Create a tournament table
+     * Prepare storage for a tournament. Scores of every tournament share one table, so this
+     * only migrates the scores of a per-tournament table created by an older version.
      *
      * @param identifier The tournament ID
      */
@@ -44,21 +54,40 @@ public interface StorageHandler {
     void createTournamentWinsTable();
 
     /**
-     * Add a participant
+     * Create the challenge completions table
+     *
+     */
+    void createChallengeCompletionsTable();
+
+    /**
+     * Add a participant. Writes take the round they belong to, as read when the write was queued,
+     * so a write that runs after the tournament switched rounds never lands in the new round.
      *
      * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
      * @param uuid The UUID of the Player
      */
-    void addParticipant(String identifier, UUID uuid);
+    void addParticipant(String identifier, UUID roundId, UUID uuid);
 
     /**
      * Update participant data
      *
      * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
      * @param uuid The UUID of the Player
      * @param score The amount to update
      */
-    void updateParticipant(String identifier, UUID uuid, int score);
+    void updateParticipant(String identifier, UUID roundId, UUID uuid, long score);
+
+    /**
+     * Update participant data for several players in a single transaction
+     *
+     * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
+     * @param scores Map of player UUID and score to write
+     * @return true if the scores were written, false if the transaction failed and was rolled back
+     */
+    boolean updateParticipants(String identifier, UUID roundId, Map<UUID, Long> scores);
 
     /**
      * Clear all tournament data
@@ -71,9 +100,44 @@ public interface StorageHandler {
      * Clear tournament data for specific player
      *
      * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
      * @param uuid The UUID of the player
      */
-    void clearParticipant(String identifier, UUID uuid);
+    void clearParticipant(String identifier, UUID roundId, UUID uuid);
+
+    /**
+     * Get the round that tournament data is read from and written to. Rounds are loaded by
+     * {@link #createTournamentTable(String)}, so this does not touch the database.
+     *
+     * @param identifier The ID of the tournament
+     * @return The ID of the active round
+     */
+    UUID getActiveRound(String identifier);
+
+    /**
+     * Switch a tournament to another round, which resets its data without deleting anything.
+     * Calls made afterwards use the new round. This does not touch the database, so follow it
+     * with {@link #saveActiveRound(String)}, which also records the replaced round for pruning.
+     *
+     * @param identifier The ID of the tournament
+     * @param roundId The ID of the new round
+     */
+    void setActiveRound(String identifier, UUID roundId);
+
+    /**
+     * Record the active round of a tournament, so it is resumed after a restart
+     *
+     * @param identifier The ID of the tournament
+     */
+    void saveActiveRound(String identifier);
+
+    /**
+     * Delete the data of a round recorded as replaced, and forget the round once it has no data left
+     *
+     * @param limit The maximum amount of rows to delete
+     * @return The amount of rows deleted, 0 once there is nothing left to prune
+     */
+    int pruneRounds(int limit);
 
     /**
      * Get the actions in queue for a player
@@ -102,9 +166,20 @@ public interface StorageHandler {
      * Get the top players ordered by score
      *
      * @param identifier The ID of the tournament
+     * @param limit The maximum amount of players to return
      * @return Map of sorted UUID and score
      */
-    Map<UUID, Integer> getTopPlayers(String identifier);
+    Map<UUID, Long> getTopPlayers(String identifier, int limit);
+
+    /**
+     * Get the leaderboard position of a player, using the same ordering as {@link #getTopPlayers(String, int)}
+     *
+     * @param identifier The ID of the tournament
+     * @param uuid The UUID of the player
+     * @param score The score of the player
+     * @return Position of the player, starting at 1
+     */
+    int getPlayerPosition(String identifier, UUID uuid, long score);
 
     /**
      * Get the top players being reached a certain score
@@ -113,7 +188,7 @@ public interface StorageHandler {
      * @param score The score required
      * @return Map of sorted UUID and score
      */
-    Map<UUID, Integer> getTopPlayersByScore(String identifier, int score);
+    Map<UUID, Long> getTopPlayersByScore(String identifier, long score);
 
     /**
      * Get the score of a player
@@ -122,16 +197,17 @@ public interface StorageHandler {
      * @param uuid The UUID of the player
      * @return Score of the player
      */
-    int getPlayerScore(String identifier, String uuid);
+    long getPlayerScore(String identifier, String uuid);
 
     /**
      * Save player score
      *
      * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
      * @param uuid The UUID of the player
      * @param score The score
      */
-    void setPlayerScore(String identifier, String uuid, int score);
+    void setPlayerScore(String identifier, UUID roundId, String uuid, long score);
 
     /**
      * Add +1 to the player win
@@ -148,4 +224,34 @@ public interface StorageHandler {
      */
     int getPlayerTournamentWins(String uuid);
 
+    /**
+     * Record the finishing position of a player that completed a challenge. Completions are kept
+     * per round like scores, so a reset needs no delete and completions of previous rounds are pruned
+     * with their scores.
+     *
+     * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
+     * @param uuid The UUID of the player
+     * @param position The finishing position, starting at 1
+     */
+    void addChallengeCompletion(String identifier, UUID roundId, UUID uuid, int position);
+
+    /**
+     * Get every player that completed a challenge in a round
+     *
+     * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
+     * @return Map of UUID and finishing position, ordered by position
+     */
+    Map<UUID, Integer> getChallengeCompletions(String identifier, UUID roundId);
+
+    /**
+     * Clear the challenge completion of a specific player
+     *
+     * @param identifier The ID of the tournament
+     * @param roundId The ID of the round
+     * @param uuid The UUID of the player
+     */
+    void clearChallengeCompletion(String identifier, UUID roundId, UUID uuid);
+
 }
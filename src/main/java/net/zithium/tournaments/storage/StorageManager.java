@@ -13,6 +13,8 @@ public class StorageManager {
 
     private final XLTournamentsPlugin plugin;
     private StorageHandler storageHandler;
+    private BlockingCallDetector blockingCallDetector;
+    private AsyncStorage asyncStorage;
 
     public StorageManager(XLTournamentsPlugin plugin) {
         this.plugin = plugin;
@@ -35,14 +37,38 @@ public class StorageManager {
 
         if(!storageHandler.onEnable(plugin)) {
             plugin.getServer().getPluginManager().disablePlugin(plugin);
+            return;
         }
+
+        asyncStorage = new AsyncStorage(storageHandler, Math.max(1, storageHandler.getMaxConcurrency()), plugin.getLogger());
+        blockingCallDetector = BlockingCallDetector.of(storageHandler, plugin.getLogger());
+        storageHandler = blockingCallDetector.proxy();
     }
 
     public void onDisable() {
+        if (asyncStorage != null) asyncStorage.shutdown();
         storageHandler.onDisable();
     }
 
+    /**
+     * @return The storage handler. Calls on it block until the database responds, so prefer
+     * {@link #getAsyncStorage()} on the server thread.
+     */
     public StorageHandler getStorageHandler() {
         return storageHandler;
     }
+
+    public AsyncStorage getAsyncStorage() {
+        return asyncStorage;
+    }
+
+    /**
+     * Allows blocking storage calls on the server thread without reporting them, such as
+     * when saving everything while the plugin disables.
+     *
+     * @param blockingAllowed true to stop reporting blocking calls
+     */
+    public void setBlockingAllowed(boolean blockingAllowed) {
+        if (blockingCallDetector != null) blockingCallDetector.setBlockingAllowed(blockingAllowed);
+    }
 }
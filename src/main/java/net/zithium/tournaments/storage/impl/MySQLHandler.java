@@ -9,10 +9,27 @@ import org.bukkit.configuration.file.FileConfiguration;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class MySQLHandler implements StorageHandler {
 
+    /**
+     * The schema version this handler expects. Each version above the stored one is applied
+     * in order by {@link #migrate(Statement, int)} when the plugin enables.
+     */
+    private static final int SCHEMA_VERSION = 3;
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
+    private static final String UPSERT_SCORE = "INSERT INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE score = VALUES(score)";
+    // Scores written before rounds were tracked belong to this round.
+    private static final UUID LEGACY_ROUND = new UUID(0, 0);
+
     private HikariDataSource hikari;
+    private boolean winsTableKeyed;
+    private final Map<String, UUID> rounds = new ConcurrentHashMap<>();
+    // Rounds replaced since the last save, recorded as stale once the new round is saved.
+    private final Map<String, Queue<UUID>> replacedRounds = new ConcurrentHashMap<>();
 
     @Override
     public boolean onEnable(XLTournamentsPlugin plugin) {
@@ -30,17 +47,77 @@ public class MySQLHandler implements StorageHandler {
         hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
         hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
         hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        hikariConfig.addDataSourceProperty("rewriteBatchedStatements", "true");
         hikari = new HikariDataSource(hikariConfig);
 
+        if (!migrateSchema(plugin)) return false;
         createQueueTable();
         return true;
     }
 
+    private boolean migrateSchema(XLTournamentsPlugin plugin) {
+        try (Connection connection = hikari.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version (version int NOT NULL PRIMARY KEY, applied timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP);");
+
+            int version = 0;
+            try (ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM schema_version;")) {
+                if (rs.next()) version = rs.getInt(1);
+            }
+
+            while (version < SCHEMA_VERSION) {
+                version++;
+                plugin.getLogger().info("Migrating database schema to version " + version + "..");
+                migrate(statement, version);
+                statement.execute("INSERT INTO schema_version (version) VALUES (" + version + ");");
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("There was an error while migrating the database schema.");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void migrate(Statement statement, int version) throws SQLException {
+        switch (version) {
+            case 1:
+                // Scores of every tournament in one table, replacing a table per tournament. The score index
+                // covers the leaderboard range scans and rank counts, so they never read the rows themselves.
+                statement.execute("CREATE TABLE IF NOT EXISTS tournament_scores ("
+                        + "tournament_id varchar(255) NOT NULL, "
+                        + "round_id BINARY(16) NOT NULL, "
+                        + "uuid BINARY(16) NOT NULL, "
+                        + "score BIGINT NOT NULL, "
+                        + "PRIMARY KEY (tournament_id, round_id, uuid), "
+                        + "INDEX score_idx (tournament_id, round_id, score DESC, uuid));");
+                break;
+            case 2:
+                // The round each tournament is in. A reset switches the round, older rounds are pruned in the background.
+                statement.execute("CREATE TABLE IF NOT EXISTS tournament_rounds (tournament_id varchar(255) NOT NULL PRIMARY KEY, round_id BINARY(16) NOT NULL);");
+                break;
+            case 3:
+                // Rounds replaced by a reset, whose data is pruned in the background. Rounds replaced before this
+                // version are found once here, so pruning never has to scan the scores for them.
+                statement.execute("CREATE TABLE IF NOT EXISTS stale_rounds (tournament_id varchar(255) NOT NULL, round_id BINARY(16) NOT NULL, PRIMARY KEY (tournament_id, round_id));");
+                statement.execute("INSERT IGNORE INTO stale_rounds (tournament_id, round_id) SELECT DISTINCT s.tournament_id, s.round_id FROM tournament_scores s "
+                        + "JOIN tournament_rounds r ON r.tournament_id = s.tournament_id WHERE s.round_id <> r.round_id;");
+                break;
+            default:
+                throw new IllegalStateException("Unknown schema version " + version);
+        }
+    }
+
     @Override
     public void onDisable() {
         if (hikari != null) hikari.close();
     }
 
+    @Override
+    public int getMaxConcurrency() {
+        return hikari.getMaximumPoolSize();
+    }
+
     @Override
     public void createQueueTable() {
         try (Connection connection = hikari.getConnection();
@@ -53,43 +130,175 @@ public class MySQLHandler implements StorageHandler {
 
     @Override
     public void createTournamentTable(String identifier) {
+        // Scores live in tournament_scores, so this loads the active round and moves the scores of a table
+        // created by an older version into it.
+        try (Connection connection = hikari.getConnection()) {
+            loadActiveRound(connection, identifier);
+            if (hasTable(connection, identifier)) migrateLegacyTable(connection, identifier);
+        } catch (SQLException e) {
+            Bukkit.getServer().getLogger().severe("There was an error while migrating the scores of tournament " + identifier + ".");
+            e.printStackTrace();
+        }
+    }
+
+    private void loadActiveRound(Connection connection, String identifier) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT round_id FROM tournament_rounds WHERE tournament_id = ?")) {
+            statement.setString(1, identifier);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    rounds.put(identifier, UUIDBytes.fromBytes(rs.getBytes("round_id")));
+                    return;
+                }
+            }
+        }
+
+        rounds.put(identifier, LEGACY_ROUND);
+        try (PreparedStatement statement = connection.prepareStatement("INSERT IGNORE INTO tournament_rounds (tournament_id, round_id) VALUES (?, ?)")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(LEGACY_ROUND));
+            statement.executeUpdate();
+        }
+    }
+
+    private boolean hasTable(Connection connection, String name) throws SQLException {
+        // Underscores are wildcards in metadata patterns, so compare the names of the tables found.
+        try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+            while (rs.next()) {
+                if (rs.getString("TABLE_NAME").equals(name)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies a table created by an older version into tournament_scores in chunks, each in its own
+     * transaction, then renames it so it is not migrated again. Rows already present are kept, so an
+     * interrupted migration can simply run again.
+     */
+    private void migrateLegacyTable(Connection connection, String identifier) throws SQLException {
+        Bukkit.getServer().getLogger().info("Migrating scores of tournament " + identifier + "..");
+        byte[] round = round(identifier);
+        String lastUuid = "";
+        int migrated = 0;
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT uuid, score FROM `" + identifier + "` WHERE uuid > ? ORDER BY uuid LIMIT " + MIGRATION_CHUNK_SIZE);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT IGNORE INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, ?)")) {
+            while (true) {
+                select.setString(1, lastUuid);
+                int read = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        read++;
+                        lastUuid = rs.getString("uuid");
+                        UUID uuid;
+                        try {
+                            uuid = UUID.fromString(lastUuid);
+                        } catch (IllegalArgumentException e) {
+                            continue;
+                        }
+                        insert.setString(1, identifier);
+                        insert.setBytes(2, round);
+                        insert.setBytes(3, UUIDBytes.toBytes(uuid));
+                        insert.setLong(4, rs.getLong("score"));
+                        insert.addBatch();
+                    }
+                }
+                if (read == 0) break;
+
+                insert.executeBatch();
+                connection.commit();
+                migrated += read;
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RENAME TABLE `" + identifier + "` TO `" + identifier + "_legacy`;");
+        }
+        Bukkit.getServer().getLogger().info("Migrated " + migrated + " scores of tournament " + identifier + ", the old table was renamed to " + identifier + "_legacy.");
+    }
+
+    @Override
+    public void createTournamentWinsTable() {
         try (Connection connection = hikari.getConnection();
              Statement statement = connection.createStatement()) {
-             statement.execute("CREATE TABLE IF NOT EXISTS `" + identifier + "` (uuid varchar(255) NOT NULL PRIMARY KEY, score decimal NOT NULL);");
+            statement.execute("CREATE TABLE IF NOT EXISTS tournament_wins (uuid varchar(255) NOT NULL PRIMARY KEY, wins decimal);");
+
+            // Tables created by older versions have no key on uuid, which the wins upsert relies on.
+            try (ResultSet rs = connection.getMetaData().getPrimaryKeys(connection.getCatalog(), null, "tournament_wins")) {
+                winsTableKeyed = rs.next();
+            }
+            if (!winsTableKeyed) {
+                try {
+                    statement.execute("ALTER TABLE tournament_wins ADD PRIMARY KEY (uuid);");
+                    winsTableKeyed = true;
+                } catch (SQLException e) {
+                    Bukkit.getServer().getLogger().warning("Could not add a primary key to tournament_wins (duplicate rows?). Falling back to non-atomic win updates.");
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     @Override
-    public void createTournamentWinsTable() {
+    public void createChallengeCompletionsTable() {
         try (Connection connection = hikari.getConnection();
              Statement statement = connection.createStatement()) {
-            statement.execute("CREATE TABLE IF NOT EXISTS tournament_wins (uuid varchar(255) NOT NULL, wins decimal);");
+            statement.execute("CREATE TABLE IF NOT EXISTS challenge_completions (tournament_id varchar(255) NOT NULL, round_id BINARY(16) NOT NULL, "
+                    + "uuid BINARY(16) NOT NULL, position int NOT NULL, PRIMARY KEY (tournament_id, round_id, uuid));");
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     @Override
-    public void addParticipant(String identifier, UUID uuid) {
+    public void addParticipant(String identifier, UUID roundId, UUID uuid) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT IGNORE INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, 0)")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(roundId));
+            statement.setBytes(3, UUIDBytes.toBytes(uuid));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    @Override
+    public void updateParticipant(String identifier, UUID roundId, UUID uuid, long score) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT_SCORE)) {
+            bindScore(statement, identifier, roundId, uuid, score);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public boolean updateParticipants(String identifier, UUID roundId, Map<UUID, Long> scores) {
         try (Connection connection = hikari.getConnection()) {
             connection.setAutoCommit(false); // Start transaction
 
-            try (PreparedStatement selectStmt = connection.prepareStatement(
-                    "SELECT * FROM `" + identifier + "` WHERE uuid = ? FOR UPDATE")) {
-                selectStmt.setString(1, uuid.toString());
-                ResultSet rs = selectStmt.executeQuery();
-
-                if (!rs.next()) {
-                    try (PreparedStatement insertStmt = connection.prepareStatement(
-                            "REPLACE INTO `" + identifier + "` (uuid, score) VALUES (?, 0)")) {
-                        insertStmt.setString(1, uuid.toString());
-                        insertStmt.executeUpdate();
-                    }
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SCORE)) {
+                for (Map.Entry<UUID, Long> entry : scores.entrySet()) {
+                    bindScore(statement, identifier, roundId, entry.getKey(), entry.getValue());
+                    statement.addBatch();
                 }
+                statement.executeBatch();
 
                 connection.commit(); // Commit transaction
+                return true;
             } catch (SQLException e) {
                 connection.rollback(); // Rollback on error
                 e.printStackTrace();
@@ -97,57 +306,133 @@ public class MySQLHandler implements StorageHandler {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return false;
     }
 
+    @Override
+    public void clearParticipants(String identifier) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, round(identifier));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
     @Override
-    public void updateParticipant(String identifier, UUID uuid, int score) {
-        try (Connection connection = hikari.getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
+    public void clearParticipant(String identifier, UUID roundId, UUID uuid) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND uuid = ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(roundId));
+            statement.setBytes(3, UUIDBytes.toBytes(uuid));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
-            try (PreparedStatement selectStmt = connection.prepareStatement(
-                    "SELECT * FROM `" + identifier + "` WHERE uuid = ? FOR UPDATE")) {
-                selectStmt.setString(1, uuid.toString());
-                ResultSet rs = selectStmt.executeQuery();
+    @Override
+    public UUID getActiveRound(String identifier) {
+        return rounds.getOrDefault(identifier, LEGACY_ROUND);
+    }
 
-                if (rs.next()) {
-                    try (PreparedStatement updateStmt = connection.prepareStatement(
-                            "UPDATE `" + identifier + "` SET score = ? WHERE uuid = ?")) {
-                        updateStmt.setInt(1, score);
-                        updateStmt.setString(2, uuid.toString());
-                        updateStmt.executeUpdate();
-                    }
+    @Override
+    public void setActiveRound(String identifier, UUID roundId) {
+        UUID previous = rounds.put(identifier, roundId);
+        if (previous != null && !previous.equals(roundId)) {
+            replacedRounds.computeIfAbsent(identifier, key -> new ConcurrentLinkedQueue<>()).add(previous);
+        }
+    }
+
+    @Override
+    public void saveActiveRound(String identifier) {
+        List<UUID> replaced = drainReplacedRounds(identifier);
+        try (Connection connection = hikari.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement stale = connection.prepareStatement(
+                         "INSERT IGNORE INTO stale_rounds (tournament_id, round_id) VALUES (?, ?)");
+                 PreparedStatement active = connection.prepareStatement(
+                         "INSERT INTO tournament_rounds (tournament_id, round_id) VALUES (?, ?) ON DUPLICATE KEY UPDATE round_id = VALUES(round_id)")) {
+                for (UUID round : replaced) {
+                    stale.setString(1, identifier);
+                    stale.setBytes(2, UUIDBytes.toBytes(round));
+                    stale.addBatch();
                 }
+                stale.executeBatch();
 
-                connection.commit(); // Commit transaction
+                active.setString(1, identifier);
+                active.setBytes(2, round(identifier));
+                active.executeUpdate();
+                connection.commit();
+                return;
             } catch (SQLException e) {
-                connection.rollback(); // Rollback on error
+                connection.rollback();
                 e.printStackTrace();
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        // Recorded again with the next save, so the rounds are not left unpruned.
+        replacedRounds.computeIfAbsent(identifier, key -> new ConcurrentLinkedQueue<>()).addAll(replaced);
     }
 
+    private List<UUID> drainReplacedRounds(String identifier) {
+        List<UUID> replaced = new ArrayList<>();
+        Queue<UUID> queue = replacedRounds.get(identifier);
+        if (queue == null) return replaced;
 
-    @Override
-    public void clearParticipants(String identifier) {
-        try (Connection connection = hikari.getConnection();
-             Statement statement = connection.createStatement()) {
-            statement.execute("DELETE FROM `" + identifier + "`;");
-        } catch (SQLException e) {
-            e.printStackTrace();
+        UUID round;
+        while ((round = queue.poll()) != null) {
+            replaced.add(round);
         }
+        return replaced;
     }
 
     @Override
-    public void clearParticipant(String identifier, UUID uuid) {
-        try (Connection connection = hikari.getConnection();
-             Statement statement = connection.createStatement()) {
-            statement.execute("DELETE FROM `" + identifier + "` WHERE uuid='" + uuid.toString() + "';");
+    public int pruneRounds(int limit) {
+        try (Connection connection = hikari.getConnection()) {
+            // Only rounds recorded as stale when they were replaced are pruned, so nothing is scanned once they are gone.
+            String identifier;
+            byte[] round;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT tournament_id, round_id FROM stale_rounds LIMIT 1")) {
+                if (!rs.next()) return 0;
+                identifier = rs.getString("tournament_id");
+                round = rs.getBytes("round_id");
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM challenge_completions WHERE tournament_id = ? AND round_id = ?")) {
+                statement.setString(1, identifier);
+                statement.setBytes(2, round);
+                statement.executeUpdate();
+            }
+            int deleted;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ? LIMIT ?")) {
+                statement.setString(1, identifier);
+                statement.setBytes(2, round);
+                statement.setInt(3, limit);
+                deleted = statement.executeUpdate();
+            }
+            if (deleted < limit) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "DELETE FROM stale_rounds WHERE tournament_id = ? AND round_id = ?")) {
+                    statement.setString(1, identifier);
+                    statement.setBytes(2, round);
+                    statement.executeUpdate();
+                }
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return 0;
     }
 
     @Override
@@ -187,15 +472,20 @@ public class MySQLHandler implements StorageHandler {
     }
 
     @Override
-    public Map<UUID, Integer> getTopPlayers(String identifier) {
+    public Map<UUID, Long> getTopPlayers(String identifier, int limit) {
         try (Connection connection = hikari.getConnection();
-             Statement statement = connection.createStatement()) {
-            Map<UUID, Integer> players = new LinkedHashMap<>();
-            ResultSet rs = statement.executeQuery("SELECT * FROM `" + identifier + "` ORDER BY score DESC");
-            while (rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("uuid"));
-                int score = rs.getInt("score");
-                players.put(uuid, score);
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT uuid, score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? ORDER BY score DESC, uuid ASC LIMIT ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, round(identifier));
+            statement.setInt(3, limit);
+            Map<UUID, Long> players = new LinkedHashMap<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid = UUIDBytes.fromBytes(rs.getBytes("uuid"));
+                    long score = rs.getLong("score");
+                    players.put(uuid, score);
+                }
             }
             return players;
         } catch (SQLException e) {
@@ -205,15 +495,41 @@ public class MySQLHandler implements StorageHandler {
     }
 
     @Override
-    public Map<UUID, Integer> getTopPlayersByScore(String identifier, int score) {
+    public int getPlayerPosition(String identifier, UUID uuid, long score) {
         try (Connection connection = hikari.getConnection();
-             Statement statement = connection.createStatement()) {
-            Map<UUID, Integer> players = new LinkedHashMap<>();
-            ResultSet rs = statement.executeQuery("SELECT uuid,score FROM `" + identifier + "` WHERE score>=" + score + ";");
-            while (rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("uuid"));
-                int s = rs.getInt("score");
-                players.put(uuid, s);
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND (score > ? OR (score = ? AND uuid < ?))")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, round(identifier));
+            statement.setLong(3, score);
+            statement.setLong(4, score);
+            statement.setBytes(5, UUIDBytes.toBytes(uuid));
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) + 1;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    @Override
+    public Map<UUID, Long> getTopPlayersByScore(String identifier, long score) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT uuid, score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND score >= ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, round(identifier));
+            statement.setLong(3, score);
+            Map<UUID, Long> players = new LinkedHashMap<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid = UUIDBytes.fromBytes(rs.getBytes("uuid"));
+                    long s = rs.getLong("score");
+                    players.put(uuid, s);
+                }
             }
             return players;
         } catch (SQLException e) {
@@ -223,12 +539,17 @@ public class MySQLHandler implements StorageHandler {
     }
 
     @Override
-    public int getPlayerScore(String identifier, String uuid) {
+    public long getPlayerScore(String identifier, String uuid) {
         try (Connection connection = hikari.getConnection();
-             Statement statement = connection.createStatement()) {
-            ResultSet rs = statement.executeQuery("SELECT score FROM `" + identifier + "` WHERE uuid='" + uuid + "';");
-            if (rs.next()) {
-                return rs.getInt("score");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND uuid = ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, round(identifier));
+            statement.setBytes(3, UUIDBytes.toBytes(UUID.fromString(uuid)));
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong("score");
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -237,27 +558,11 @@ public class MySQLHandler implements StorageHandler {
     }
 
     @Override
-    public void setPlayerScore(String identifier, String uuid, int score) {
-        try (Connection connection = hikari.getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
-
-            try (PreparedStatement selectStmt = connection.prepareStatement(
-                    "SELECT * FROM `" + identifier + "` WHERE uuid = ? FOR UPDATE")) {
-                selectStmt.setString(1, uuid);
-                selectStmt.executeQuery();
-
-                try (PreparedStatement replaceStmt = connection.prepareStatement(
-                        "REPLACE INTO `" + identifier + "` (uuid, score) VALUES (?, ?)")) {
-                    replaceStmt.setString(1, uuid);
-                    replaceStmt.setInt(2, score);
-                    replaceStmt.executeUpdate();
-                }
-
-                connection.commit(); // Commit transaction
-            } catch (SQLException e) {
-                connection.rollback(); // Rollback on error
-                Bukkit.getServer().getLogger().severe("There was an error while attempting to set the player score. Rolling back.");
-            }
+    public void setPlayerScore(String identifier, UUID roundId, String uuid, long score) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT_SCORE)) {
+            bindScore(statement, identifier, roundId, UUID.fromString(uuid), score);
+            statement.executeUpdate();
         } catch (SQLException e) {
             Bukkit.getServer().getLogger().severe("There was an error while attempting to execute the setPlayerScore SQL statement.");
         }
@@ -265,58 +570,102 @@ public class MySQLHandler implements StorageHandler {
 
     @Override
     public void addPlayerTournamentWins(String uuid) {
-        int score = 0;
         try (Connection connection = hikari.getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
-
-            try (Statement statement = connection.createStatement()) {
-                statement.executeQuery("SELECT wins FROM 'tournament_wins' WHERE uuid='" + uuid + "';");
-                ResultSet rs = statement.getResultSet();
-
-                if(rs.next()) {
-                    score = rs.getInt("wins");
-                }
-                else {
-                    String sql = "INSERT INTO 'tournament_wins' (uuid, wins) VALUES('" + uuid + "','" + 0 + "');";
-                    Statement stmt = connection.createStatement();
-                    stmt.execute(sql);
+            if (winsTableKeyed) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO tournament_wins (uuid, wins) VALUES (?, 1) ON DUPLICATE KEY UPDATE wins = wins + 1")) {
+                    statement.setString(1, uuid);
+                    statement.executeUpdate();
                 }
-                rs.close();
-
-                //Update the win
-                String sql = "UPDATE 'tournament_wins' SET wins = " + (score + 1) + " WHERE uuid='" + uuid + "';";
-                Statement stmt = connection.createStatement();
-                stmt.execute(sql);
+                return;
+            }
 
-                connection.commit(); // Commit transaction
+            try (PreparedStatement update = connection.prepareStatement("UPDATE tournament_wins SET wins = wins + 1 WHERE uuid = ?")) {
+                update.setString(1, uuid);
+                if (update.executeUpdate() > 0) return;
             }
-            catch (SQLException e) {
-                connection.rollback(); // Rollback on error
-                Bukkit.getServer().getLogger().severe("There was an error while attempting to set the player score. Rolling back.");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO tournament_wins (uuid, wins) VALUES (?, 1)")) {
+                insert.setString(1, uuid);
+                insert.executeUpdate();
             }
         } catch (SQLException ex) {
+            Bukkit.getServer().getLogger().severe("There was an error while attempting to add a tournament win.");
             ex.printStackTrace();
         }
     }
 
     @Override
     public int getPlayerTournamentWins(String uuid) {
-        try (Connection connection = hikari.getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                statement.executeQuery("SELECT wins FROM 'tournament_wins' WHERE uuid='" + uuid + "';");
-                ResultSet rs = statement.getResultSet();
-
-                if(rs.next()) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT wins FROM tournament_wins WHERE uuid = ?")) {
+            statement.setString(1, uuid);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
                     return rs.getInt("wins");
                 }
             }
-            catch (SQLException e) {
-                connection.rollback(); // Rollback on error
-                Bukkit.getServer().getLogger().severe("There was an error while attempting to set the player score. Rolling back.");
-            }
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
         return 0;
     }
+
+    @Override
+    public void addChallengeCompletion(String identifier, UUID roundId, UUID uuid, int position) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT IGNORE INTO challenge_completions (tournament_id, round_id, uuid, position) VALUES (?, ?, ?, ?)")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(roundId));
+            statement.setBytes(3, UUIDBytes.toBytes(uuid));
+            statement.setInt(4, position);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public Map<UUID, Integer> getChallengeCompletions(String identifier, UUID roundId) {
+        Map<UUID, Integer> completions = new LinkedHashMap<>();
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT uuid, position FROM challenge_completions WHERE tournament_id = ? AND round_id = ? ORDER BY position")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(roundId));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    completions.put(UUIDBytes.fromBytes(rs.getBytes("uuid")), rs.getInt("position"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return completions;
+    }
+
+    @Override
+    public void clearChallengeCompletion(String identifier, UUID roundId, UUID uuid) {
+        try (Connection connection = hikari.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM challenge_completions WHERE tournament_id = ? AND round_id = ? AND uuid = ?")) {
+            statement.setString(1, identifier);
+            statement.setBytes(2, UUIDBytes.toBytes(roundId));
+            statement.setBytes(3, UUIDBytes.toBytes(uuid));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private byte[] round(String identifier) {
+        return UUIDBytes.toBytes(getActiveRound(identifier));
+    }
+
+    private void bindScore(PreparedStatement statement, String identifier, UUID roundId, UUID uuid, long score) throws SQLException {
+        statement.setString(1, identifier);
+        statement.setBytes(2, UUIDBytes.toBytes(roundId));
+        statement.setBytes(3, UUIDBytes.toBytes(uuid));
+        statement.setLong(4, score);
+    }
 }
@@ -7,15 +7,50 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+/**
+ * SQLite storage. All writes are serialized through a single writer thread that owns its own
+ * connection, while lookups go through a second connection. The database runs in WAL mode so
+ * leaderboard and score reads never wait behind a large flush.
+ */
 public class SQLiteHandler implements StorageHandler {
 
+    /**
+     * The schema version this handler expects, stored in {@code PRAGMA user_version}. Each version
+     * above the stored one is applied in order by {@link #migrate(Statement, int)}.
+     */
+    private static final int SCHEMA_VERSION = 3;
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
+    // Scores written before rounds were tracked belong to this round.
+    private static final UUID LEGACY_ROUND = new UUID(0, 0);
+    private static final String UPSERT_SCORE = "INSERT INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, ?) ON CONFLICT(tournament_id, round_id, uuid) DO UPDATE SET score = excluded.score;";
+
+    private XLTournamentsPlugin plugin;
     private File file;
-    private Connection connection;
+    private Connection writeConnection;
+    private Connection readConnection;
+    private ExecutorService writer;
+    private final Map<String, UUID> rounds = new ConcurrentHashMap<>();
+    // Rounds replaced since the last save, recorded as stale once the new round is saved.
+    private final Map<String, Queue<UUID>> replacedRounds = new ConcurrentHashMap<>();
+
+    // Only touched from the writer thread.
+    private final Map<String, PreparedStatement> writeStatements = new HashMap<>();
+    // Guarded by synchronizing on readStatements.
+    private final Map<String, PreparedStatement> readStatements = new HashMap<>();
 
     @Override
     public boolean onEnable(XLTournamentsPlugin plugin) {
+        this.plugin = plugin;
         file = new File(plugin.getDataFolder(), "database.db");
         if (!file.exists()) {
             try {
@@ -30,21 +65,118 @@ public class SQLiteHandler implements StorageHandler {
 
         try {
             Class.forName("org.sqlite.JDBC");
-            if (connection != null) {
-                connection.close();
+            writeConnection = openConnection();
+            try (Statement stmt = writeConnection.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL;");
+                stmt.execute("PRAGMA synchronous=NORMAL;");
             }
-            connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+            readConnection = openConnection();
         } catch (SQLException | ClassNotFoundException ex) {
             plugin.getLogger().log(Level.SEVERE, "Error while establishing database connection", ex);
+            return false;
         }
 
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "XLTournaments SQLite Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!migrateSchema()) return false;
         createQueueTable();
         return true;
     }
 
+    // Runs while enabling, before anything else is submitted to the writer thread.
+    private boolean migrateSchema() {
+        try (Statement stmt = writeConnection.createStatement()) {
+            int version;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version;")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+
+            while (version < SCHEMA_VERSION) {
+                version++;
+                plugin.getLogger().info("Migrating database schema to version " + version + "..");
+                migrate(stmt, version);
+                stmt.execute("PRAGMA user_version = " + version + ";");
+            }
+            return true;
+        } catch (SQLException ex) {
+            plugin.getLogger().log(Level.SEVERE, "Error while migrating the database schema", ex);
+            return false;
+        }
+    }
+
+    private void migrate(Statement stmt, int version) throws SQLException {
+        switch (version) {
+            case 1:
+                // Scores of every tournament in one table, replacing a table per tournament. The score index
+                // covers the leaderboard range scans and rank counts, so they never read the rows themselves.
+                stmt.execute("CREATE TABLE IF NOT EXISTS tournament_scores ("
+                        + "tournament_id varchar(255) NOT NULL, "
+                        + "round_id BLOB NOT NULL, "
+                        + "uuid BLOB NOT NULL, "
+                        + "score BIGINT NOT NULL, "
+                        + "PRIMARY KEY (tournament_id, round_id, uuid)) WITHOUT ROWID;");
+                stmt.execute("CREATE INDEX IF NOT EXISTS tournament_scores_score_idx ON tournament_scores (tournament_id, round_id, score DESC, uuid);");
+                break;
+            case 2:
+                // The round each tournament is in. A reset switches the round, older rounds are pruned in the background.
+                stmt.execute("CREATE TABLE IF NOT EXISTS tournament_rounds (tournament_id varchar(255) NOT NULL PRIMARY KEY, round_id BLOB NOT NULL);");
+                break;
+            case 3:
+                // Rounds replaced by a reset, whose data is pruned in the background. Rounds replaced before this
+                // version are found once here, so pruning never has to scan the scores for them.
+                stmt.execute("CREATE TABLE IF NOT EXISTS stale_rounds (tournament_id varchar(255) NOT NULL, round_id BLOB NOT NULL, PRIMARY KEY (tournament_id, round_id)) WITHOUT ROWID;");
+                stmt.execute("INSERT OR IGNORE INTO stale_rounds (tournament_id, round_id) SELECT DISTINCT s.tournament_id, s.round_id FROM tournament_scores s "
+                        + "JOIN tournament_rounds r ON r.tournament_id = s.tournament_id WHERE s.round_id <> r.round_id;");
+                break;
+            default:
+                throw new IllegalStateException("Unknown schema version " + version);
+        }
+    }
 
     @Override
     public void onDisable() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Timed out waiting for pending SQLite writes to finish.");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        closeStatements(writeStatements);
+        synchronized (readStatements) {
+            closeStatements(readStatements);
+        }
+        closeConnection(writeConnection);
+        closeConnection(readConnection);
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout=5000;");
+        }
+        return connection;
+    }
+
+    private void closeStatements(Map<String, PreparedStatement> statements) {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        statements.clear();
+    }
+
+    private void closeConnection(Connection connection) {
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -54,244 +186,550 @@ public class SQLiteHandler implements StorageHandler {
         }
     }
 
-    public Connection getConnection() {
+    /**
+     * Runs the task on the writer thread and waits for it to complete, so a read issued
+     * afterwards by the same caller observes the write.
+     */
+    /**
+     * Runs a write on the writer thread and waits for it.
+     *
+     * @return true if the write completed, false if it failed or was dropped
+     */
+    private boolean write(SQLTask task) {
+        Future<Boolean> future;
         try {
-            if(connection != null && !connection.isClosed()) {
-                return connection;
-            } else {
-                Class.forName("org.sqlite.JDBC");
-                connection = DriverManager.getConnection("jdbc:sqlite:" + file);
-                return connection;
-            }
-        } catch (SQLException | ClassNotFoundException ex) {
-            ex.printStackTrace();
+            future = writer.submit(() -> {
+                try {
+                    task.run();
+                    return true;
+                } catch (SQLException ex) {
+                    plugin.getLogger().log(Level.SEVERE, "Error while writing to the SQLite database", ex);
+                    return false;
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            plugin.getLogger().warning("Dropped a SQLite write submitted after the database was closed.");
+            return false;
         }
-        return connection;
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            plugin.getLogger().log(Level.SEVERE, "Error while writing to the SQLite database", ex.getCause());
+        }
+        return false;
+    }
+
+    private PreparedStatement writeStatement(String sql) throws SQLException {
+        PreparedStatement statement = writeStatements.get(sql);
+        if (statement == null) {
+            statement = writeConnection.prepareStatement(sql);
+            writeStatements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private PreparedStatement readStatement(String sql) throws SQLException {
+        PreparedStatement statement = readStatements.get(sql);
+        if (statement == null) {
+            statement = readConnection.prepareStatement(sql);
+            readStatements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private void executeUpdate(String sql) {
+        write(() -> {
+            try (Statement stmt = writeConnection.createStatement()) {
+                stmt.execute(sql);
+            }
+        });
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // One reader on the read connection and one caller waiting on the writer thread.
+        return 2;
     }
 
     @Override
     public void createQueueTable() {
-        try {
-            Connection connection = getConnection();
-            String sql = "CREATE TABLE IF NOT EXISTS action_queue (uuid varchar(255) NOT NULL, action varchar(255));";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+        executeUpdate("CREATE TABLE IF NOT EXISTS action_queue (uuid varchar(255) NOT NULL, action varchar(255));");
     }
 
     @Override
     public void createTournamentTable(String identifier) {
-        try {
-            Connection connection = getConnection();
-            String sql = "CREATE TABLE IF NOT EXISTS '" + identifier + "' (uuid varchar(255) NOT NULL PRIMARY KEY, score decimal NOT NULL);";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
+        // Scores live in tournament_scores, so this loads the active round and moves the scores of a table
+        // created by an older version into it.
+        write(() -> {
+            loadActiveRound(identifier);
+            try (PreparedStatement stmt = writeConnection.prepareStatement("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?;")) {
+                stmt.setString(1, identifier);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return;
+                }
+            }
+            migrateLegacyTable(identifier);
+        });
+    }
+
+    private void loadActiveRound(String identifier) throws SQLException {
+        PreparedStatement select = writeStatement("SELECT round_id FROM tournament_rounds WHERE tournament_id = ?;");
+        select.setString(1, identifier);
+        try (ResultSet rs = select.executeQuery()) {
+            if (rs.next()) {
+                rounds.put(identifier, UUIDBytes.fromBytes(rs.getBytes("round_id")));
+                return;
+            }
+        }
+
+        rounds.put(identifier, LEGACY_ROUND);
+        PreparedStatement insert = writeStatement("INSERT OR IGNORE INTO tournament_rounds (tournament_id, round_id) VALUES (?, ?);");
+        insert.setString(1, identifier);
+        insert.setBytes(2, UUIDBytes.toBytes(LEGACY_ROUND));
+        insert.executeUpdate();
+    }
+
+    /**
+     * Copies a table created by an older version into tournament_scores in chunks, each in its own
+     * transaction, then renames it so it is not migrated again. Rows already present are kept, so an
+     * interrupted migration can simply run again. Runs on the writer thread.
+     */
+    private void migrateLegacyTable(String identifier) throws SQLException {
+        plugin.getLogger().info("Migrating scores of tournament " + identifier + "..");
+        byte[] round = round(identifier);
+        String lastUuid = "";
+        int migrated = 0;
+
+        writeConnection.setAutoCommit(false);
+        try (PreparedStatement select = writeConnection.prepareStatement(
+                     "SELECT uuid, score FROM '" + identifier + "' WHERE uuid > ? ORDER BY uuid LIMIT " + MIGRATION_CHUNK_SIZE + ";");
+             PreparedStatement insert = writeConnection.prepareStatement(
+                     "INSERT OR IGNORE INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, ?);")) {
+            while (true) {
+                select.setString(1, lastUuid);
+                int read = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        read++;
+                        lastUuid = rs.getString("uuid");
+                        UUID uuid;
+                        try {
+                            uuid = UUID.fromString(lastUuid);
+                        } catch (IllegalArgumentException ex) {
+                            continue;
+                        }
+                        insert.setString(1, identifier);
+                        insert.setBytes(2, round);
+                        insert.setBytes(3, UUIDBytes.toBytes(uuid));
+                        insert.setLong(4, rs.getLong("score"));
+                        insert.addBatch();
+                    }
+                }
+                if (read == 0) break;
+
+                insert.executeBatch();
+                writeConnection.commit();
+                migrated += read;
+            }
         } catch (SQLException ex) {
-            ex.printStackTrace();
+            writeConnection.rollback();
+            throw ex;
+        } finally {
+            writeConnection.setAutoCommit(true);
+        }
+
+        try (Statement stmt = writeConnection.createStatement()) {
+            stmt.execute("ALTER TABLE '" + identifier + "' RENAME TO '" + identifier + "_legacy';");
         }
+        plugin.getLogger().info("Migrated " + migrated + " scores of tournament " + identifier + ", the old table was renamed to " + identifier + "_legacy.");
     }
 
     @Override
     public void createTournamentWinsTable() {
-        try {
-            Connection connection = getConnection();
-            String sql = "CREATE TABLE IF NOT EXISTS tournament_wins (uuid varchar(255) NOT NULL, wins INTEGER);";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+        executeUpdate("CREATE TABLE IF NOT EXISTS tournament_wins (uuid varchar(255) NOT NULL, wins INTEGER);");
     }
 
     @Override
-    public void addParticipant(String identifier, UUID uuid) {
-        try {
-            Connection connection = getConnection();
-            String sql = "INSERT OR IGNORE INTO '" + identifier + "' (uuid, score) VALUES ('" + uuid + "',0);";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+    public void createChallengeCompletionsTable() {
+        executeUpdate("CREATE TABLE IF NOT EXISTS challenge_completions (tournament_id varchar(255) NOT NULL, round_id BLOB NOT NULL, "
+                + "uuid BLOB NOT NULL, position INTEGER NOT NULL, PRIMARY KEY (tournament_id, round_id, uuid)) WITHOUT ROWID;");
     }
 
     @Override
-    public void updateParticipant(String identifier, UUID uuid, int score) {
-        try {
-            Connection connection = getConnection();
-            String sql = "UPDATE '" + identifier + "' SET score = " + score + " WHERE uuid='" + uuid.toString() + "';";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+    public void addParticipant(String identifier, UUID roundId, UUID uuid) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement("INSERT OR IGNORE INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, 0);");
+            bindParticipant(stmt, 1, identifier, roundId, uuid);
+            stmt.executeUpdate();
+        });
+    }
+
+    @Override
+    public void updateParticipant(String identifier, UUID roundId, UUID uuid, long score) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement(UPSERT_SCORE);
+            bindParticipant(stmt, 1, identifier, roundId, uuid);
+            stmt.setLong(4, score);
+            stmt.executeUpdate();
+        });
+    }
+
+    @Override
+    public boolean updateParticipants(String identifier, UUID roundId, Map<UUID, Long> scores) {
+        return write(() -> {
+            PreparedStatement stmt = writeStatement(UPSERT_SCORE);
+            writeConnection.setAutoCommit(false);
+            try {
+                for (Map.Entry<UUID, Long> entry : scores.entrySet()) {
+                    bindParticipant(stmt, 1, identifier, roundId, entry.getKey());
+                    stmt.setLong(4, entry.getValue());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                writeConnection.commit();
+            } catch (SQLException ex) {
+                stmt.clearBatch();
+                writeConnection.rollback();
+                throw ex;
+            } finally {
+                writeConnection.setAutoCommit(true);
+            }
+        });
     }
 
     @Override
     public void clearParticipants(String identifier) {
-        try {
-            Connection connection = getConnection();
-            String sql = "DELETE FROM '" + identifier + "';";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+        write(() -> {
+            PreparedStatement stmt = writeStatement("DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ?;");
+            stmt.setString(1, identifier);
+            stmt.setBytes(2, round(identifier));
+            stmt.executeUpdate();
+        });
+    }
+
+    @Override
+    public void clearParticipant(String identifier, UUID roundId, UUID uuid) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement("DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND uuid = ?;");
+            bindParticipant(stmt, 1, identifier, roundId, uuid);
+            stmt.executeUpdate();
+        });
+    }
+
+    @Override
+    public UUID getActiveRound(String identifier) {
+        return rounds.getOrDefault(identifier, LEGACY_ROUND);
+    }
+
+    @Override
+    public void setActiveRound(String identifier, UUID roundId) {
+        UUID previous = rounds.put(identifier, roundId);
+        if (previous != null && !previous.equals(roundId)) {
+            replacedRounds.computeIfAbsent(identifier, key -> new ConcurrentLinkedQueue<>()).add(previous);
         }
     }
 
     @Override
-    public void clearParticipant(String identifier, UUID uuid) {
-        try {
-            Connection connection = getConnection();
-            String sql = "DELETE FROM '" + identifier + "' WHERE uuid='" + uuid.toString() + "';";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+    public void saveActiveRound(String identifier) {
+        List<UUID> replaced = drainReplacedRounds(identifier);
+        boolean saved = write(() -> {
+            PreparedStatement stale = writeStatement("INSERT OR IGNORE INTO stale_rounds (tournament_id, round_id) VALUES (?, ?);");
+            PreparedStatement active = writeStatement("REPLACE INTO tournament_rounds (tournament_id, round_id) VALUES (?, ?);");
+            writeConnection.setAutoCommit(false);
+            try {
+                for (UUID round : replaced) {
+                    stale.setString(1, identifier);
+                    stale.setBytes(2, UUIDBytes.toBytes(round));
+                    stale.executeUpdate();
+                }
+                active.setString(1, identifier);
+                active.setBytes(2, round(identifier));
+                active.executeUpdate();
+                writeConnection.commit();
+            } catch (SQLException ex) {
+                writeConnection.rollback();
+                throw ex;
+            } finally {
+                writeConnection.setAutoCommit(true);
+            }
+        });
+        // Recorded again with the next save, so the rounds are not left unpruned.
+        if (!saved) replacedRounds.computeIfAbsent(identifier, key -> new ConcurrentLinkedQueue<>()).addAll(replaced);
+    }
+
+    private List<UUID> drainReplacedRounds(String identifier) {
+        List<UUID> replaced = new ArrayList<>();
+        Queue<UUID> queue = replacedRounds.get(identifier);
+        if (queue == null) return replaced;
+
+        UUID round;
+        while ((round = queue.poll()) != null) {
+            replaced.add(round);
         }
+        return replaced;
+    }
+
+    @Override
+    public int pruneRounds(int limit) {
+        // Only rounds recorded as stale when they were replaced are pruned, so nothing is scanned once they are gone.
+        int[] deleted = new int[1];
+        write(() -> {
+            String identifier;
+            byte[] round;
+            PreparedStatement select = writeStatement("SELECT tournament_id, round_id FROM stale_rounds LIMIT 1;");
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) return;
+                identifier = rs.getString("tournament_id");
+                round = rs.getBytes("round_id");
+            }
+
+            PreparedStatement completions = writeStatement("DELETE FROM challenge_completions WHERE tournament_id = ? AND round_id = ?;");
+            completions.setString(1, identifier);
+            completions.setBytes(2, round);
+            completions.executeUpdate();
+
+            PreparedStatement stmt = writeStatement("DELETE FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND uuid IN "
+                    + "(SELECT uuid FROM tournament_scores WHERE tournament_id = ? AND round_id = ? LIMIT ?);");
+            stmt.setString(1, identifier);
+            stmt.setBytes(2, round);
+            stmt.setString(3, identifier);
+            stmt.setBytes(4, round);
+            stmt.setInt(5, limit);
+            deleted[0] = stmt.executeUpdate();
+
+            if (deleted[0] < limit) {
+                PreparedStatement stale = writeStatement("DELETE FROM stale_rounds WHERE tournament_id = ? AND round_id = ?;");
+                stale.setString(1, identifier);
+                stale.setBytes(2, round);
+                stale.executeUpdate();
+            }
+        });
+        return deleted[0];
     }
 
     @Override
     public List<String> getPlayerQueueActions(String uuid) {
-        try {
-            Connection connection = getConnection();
-            List<String> actions = new ArrayList<>();
-            ResultSet rs = connection.createStatement().executeQuery("SELECT action FROM 'action_queue' WHERE uuid='" + uuid + "';");
-            while (rs.next()) {
-                actions.add(rs.getString("action"));
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT action FROM 'action_queue' WHERE uuid = ?;");
+                stmt.setString(1, uuid);
+                List<String> actions = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        actions.add(rs.getString("action"));
+                    }
+                }
+                return actions;
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
-            return actions;
-        } catch (SQLException ex) {
-            ex.printStackTrace();
         }
         return Collections.emptyList();
     }
 
     @Override
     public void addActionToQueue(String uuid, String action) {
-        try {
-            Connection connection = getConnection();
-            String sql = "INSERT INTO action_queue (uuid, action) VALUES('" + uuid + "','" + action + "');";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+        write(() -> {
+            PreparedStatement stmt = writeStatement("INSERT INTO action_queue (uuid, action) VALUES (?, ?);");
+            stmt.setString(1, uuid);
+            stmt.setString(2, action);
+            stmt.executeUpdate();
+        });
     }
 
     @Override
     public void removeQueueActions(String uuid) {
-        try {
-            Connection connection = getConnection();
-            String sql = "DELETE FROM 'action_queue' WHERE uuid='" + uuid + "';";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+        write(() -> {
+            PreparedStatement stmt = writeStatement("DELETE FROM 'action_queue' WHERE uuid = ?;");
+            stmt.setString(1, uuid);
+            stmt.executeUpdate();
+        });
     }
 
     @Override
-    public Map<UUID, Integer> getTopPlayers(String identifier) {
-        try {
-            Connection connection = getConnection();
-            Map<UUID, Integer> players = new LinkedHashMap<>();
-            ResultSet rs = connection.createStatement().executeQuery("SELECT * FROM '" + identifier + "' ORDER BY score DESC");
-            while(rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("uuid"));
-                int score = rs.getInt("score");
-                players.put(uuid, score);
+    public Map<UUID, Long> getTopPlayers(String identifier, int limit) {
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT uuid, score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? ORDER BY score DESC, uuid ASC LIMIT ?;");
+                stmt.setString(1, identifier);
+                stmt.setBytes(2, round(identifier));
+                stmt.setInt(3, limit);
+                Map<UUID, Long> players = new LinkedHashMap<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        UUID uuid = UUIDBytes.fromBytes(rs.getBytes("uuid"));
+                        long score = rs.getLong("score");
+                        players.put(uuid, score);
+                    }
+                }
+                return players;
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
-            return players;
-        } catch (SQLException ex) {
-            ex.printStackTrace();
         }
         return null;
     }
 
     @Override
-    public Map<UUID, Integer> getTopPlayersByScore(String identifier, int score) {
-        try {
-            Connection connection = getConnection();
-            Map<UUID, Integer> players = new LinkedHashMap<>();
-            ResultSet rs = connection.createStatement().executeQuery("SELECT uuid,score FROM '" + identifier + "' WHERE score>=" + score + ";");
-            while(rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("uuid"));
-                int s = rs.getInt("score");
-                players.put(uuid, s);
+    public int getPlayerPosition(String identifier, UUID uuid, long score) {
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT COUNT(*) FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND (score > ? OR (score = ? AND uuid < ?));");
+                stmt.setString(1, identifier);
+                stmt.setBytes(2, round(identifier));
+                stmt.setLong(3, score);
+                stmt.setLong(4, score);
+                stmt.setBytes(5, UUIDBytes.toBytes(uuid));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1) + 1;
+                    }
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
-            return players;
-        } catch (SQLException ex) {
-            ex.printStackTrace();
         }
-        return null;
+        return 0;
     }
 
     @Override
-    public int getPlayerScore(String identifier, String uuid) {
-        try {
-            Connection connection = getConnection();
-            ResultSet rs = connection.createStatement().executeQuery("SELECT score FROM '" + identifier + "' WHERE uuid='" + uuid + "';");
-            if(rs.next()) {
-                return rs.getInt("score");
+    public Map<UUID, Long> getTopPlayersByScore(String identifier, long score) {
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT uuid, score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND score >= ?;");
+                stmt.setString(1, identifier);
+                stmt.setBytes(2, round(identifier));
+                stmt.setLong(3, score);
+                Map<UUID, Long> players = new LinkedHashMap<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        UUID uuid = UUIDBytes.fromBytes(rs.getBytes("uuid"));
+                        long s = rs.getLong("score");
+                        players.put(uuid, s);
+                    }
+                }
+                return players;
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
+        }
+        return null;
+    }
 
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+    @Override
+    public long getPlayerScore(String identifier, String uuid) {
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT score FROM tournament_scores WHERE tournament_id = ? AND round_id = ? AND uuid = ?;");
+                bindParticipant(stmt, 1, identifier, getActiveRound(identifier), UUID.fromString(uuid));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getLong("score");
+                    }
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
         }
         return -1;
     }
 
     @Override
-    public void setPlayerScore(String identifier, String uuid, int score) {
-        try {
-            Connection connection = getConnection();
-            connection.createStatement().execute("REPLACE INTO '" + identifier + "' (uuid, score) VALUES ('" + uuid + "'," + score + ");");
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+    public void setPlayerScore(String identifier, UUID roundId, String uuid, long score) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement("REPLACE INTO tournament_scores (tournament_id, round_id, uuid, score) VALUES (?, ?, ?, ?);");
+            bindParticipant(stmt, 1, identifier, roundId, UUID.fromString(uuid));
+            stmt.setLong(4, score);
+            stmt.executeUpdate();
+        });
     }
 
     @Override
     public void addPlayerTournamentWins(String uuid) {
-        int score = 0;
-        Connection connection = getConnection();
-        try {
-            ResultSet rs = connection.createStatement().executeQuery("SELECT wins FROM 'tournament_wins' WHERE uuid='" + uuid + "';");
-            if(rs.next()) {
-                score = rs.getInt("wins");
-            }
-            else {
-                String sql = "INSERT INTO 'tournament_wins' (uuid, wins) VALUES('" + uuid + "','" + 0 + "');";
-                Statement stmt = connection.createStatement();
-                stmt.execute(sql);
-            }
-
-            rs.close();
+        // Runs on the single writer thread, so the update-then-insert pair cannot interleave.
+        write(() -> {
+            PreparedStatement update = writeStatement("UPDATE tournament_wins SET wins = wins + 1 WHERE uuid = ?;");
+            update.setString(1, uuid);
+            if (update.executeUpdate() > 0) return;
 
-            //Update the win
-            String sql = "UPDATE 'tournament_wins' SET wins = " + (score + 1) + " WHERE uuid='" + uuid + "';";
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+            PreparedStatement insert = writeStatement("INSERT INTO tournament_wins (uuid, wins) VALUES (?, 1);");
+            insert.setString(1, uuid);
+            insert.executeUpdate();
+        });
     }
 
     @Override
     public int getPlayerTournamentWins(String uuid) {
-        Connection connection = getConnection();
-        try {
-            ResultSet rs = connection.createStatement().executeQuery("SELECT wins FROM 'tournament_wins' WHERE uuid='" + uuid + "';");
-            if(rs.next()) {
-                return rs.getInt("wins");
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT wins FROM 'tournament_wins' WHERE uuid = ?;");
+                stmt.setString(1, uuid);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt("wins");
+                    }
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
-            rs.close();
-        } catch (SQLException ex) {
-            ex.printStackTrace();
         }
         return 0;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addChallengeCompletion(String identifier, UUID roundId, UUID uuid, int position) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement("INSERT OR IGNORE INTO challenge_completions (tournament_id, round_id, uuid, position) VALUES (?, ?, ?, ?);");
+            bindParticipant(stmt, 1, identifier, roundId, uuid);
+            stmt.setInt(4, position);
+            stmt.executeUpdate();
+        });
+    }
+
+    @Override
+    public Map<UUID, Integer> getChallengeCompletions(String identifier, UUID roundId) {
+        Map<UUID, Integer> completions = new LinkedHashMap<>();
+        synchronized (readStatements) {
+            try {
+                PreparedStatement stmt = readStatement("SELECT uuid, position FROM challenge_completions WHERE tournament_id = ? AND round_id = ? ORDER BY position;");
+                stmt.setString(1, identifier);
+                stmt.setBytes(2, UUIDBytes.toBytes(roundId));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        completions.put(UUIDBytes.fromBytes(rs.getBytes("uuid")), rs.getInt("position"));
+                    }
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+        return completions;
+    }
+
+    @Override
+    public void clearChallengeCompletion(String identifier, UUID roundId, UUID uuid) {
+        write(() -> {
+            PreparedStatement stmt = writeStatement("DELETE FROM challenge_completions WHERE tournament_id = ? AND round_id = ? AND uuid = ?;");
+            bindParticipant(stmt, 1, identifier, roundId, uuid);
+            stmt.executeUpdate();
+        });
+    }
+
+    private byte[] round(String identifier) {
+        return UUIDBytes.toBytes(getActiveRound(identifier));
+    }
+
+    private void bindParticipant(PreparedStatement stmt, int index, String identifier, UUID roundId, UUID uuid) throws SQLException {
+        stmt.setString(index, identifier);
+        stmt.setBytes(index + 1, UUIDBytes.toBytes(roundId));
+        stmt.setBytes(index + 2, UUIDBytes.toBytes(uuid));
+    }
+
+    @FunctionalInterface
+    private interface SQLTask {
+        void run() throws SQLException;
+    }
+}
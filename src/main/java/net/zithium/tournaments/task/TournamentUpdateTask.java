@@ -15,6 +15,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 public class TournamentUpdateTask extends BukkitRunnable {
 
@@ -39,16 +40,18 @@ public class TournamentUpdateTask extends BukkitRunnable {
             // Tournament ended
             if (tournament.getEndTimeMillis() < System.currentTimeMillis()) {
 
-                if(tournament.getTimeline() != Timeline.RANDOM) tournament.stop();
-
                 if (tournament.getTimeline() == Timeline.RANDOM) {
                     Bukkit.getScheduler().runTaskLater(JAVA_PLUGIN, () -> ((XLTournamentsPlugin) JAVA_PLUGIN).getTournamentManager().disableTournament(tournament), 20);
+                    continue;
                 }
-                else if (tournament.getTimeline() != Timeline.SPECIFIC) {
-                    Bukkit.getScheduler().runTaskLater(JAVA_PLUGIN, () -> {
+
+                CompletableFuture<Void> stopped = tournament.stop();
+                if (tournament.getTimeline() != Timeline.SPECIFIC) {
+                    // Only start the next round once the previous one has been rewarded and cleared.
+                    stopped.thenRun(() -> Bukkit.getScheduler().runTaskLater(JAVA_PLUGIN, () -> {
                         tournament.updateStatus();
                         tournament.start(true);
-                    }, 100L);
+                    }, 100L));
                 }
             }
         }
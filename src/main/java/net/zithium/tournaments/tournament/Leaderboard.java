@@ -0,0 +1,276 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.tournament;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Ranked set of participants ordered by score (highest first), with ties broken by UUID in the
+ * same order the storage handlers use. Backed by a treap augmented with subtree sizes, so both
+ * position-of-player and player-at-position are O(log n).
+ */
+public class Leaderboard {
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+
+    /**
+     * Inserts the player or moves them to the position matching their new score.
+     *
+     * @param uuid  The UUID of the player
+     * @param score The score of the player
+     */
+    public synchronized void put(UUID uuid, long score) {
+        Node node = nodes.get(uuid);
+        if (node != null) {
+            if (node.score == score) return;
+            root = remove(root, node);
+            node.score = score;
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+        } else {
+            node = new Node(uuid, score, ThreadLocalRandom.current().nextInt());
+            nodes.put(uuid, node);
+        }
+        root = insert(root, node);
+    }
+
+    public synchronized void remove(UUID uuid) {
+        Node node = nodes.remove(uuid);
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    /**
+     * Removes the players below the given amount of top positions that should not be kept.
+     *
+     * @param limit The amount of top positions that are always kept
+     * @param keep  Whether a player below the top positions should be kept
+     * @return The amount of players removed
+     */
+    public synchronized int trim(int limit, Predicate<UUID> keep) {
+        List<UUID> removed = new ArrayList<>();
+        for (int position = limit + 1; position <= size(root); position++) {
+            UUID uuid = select(position).uuid;
+            if (!keep.test(uuid)) removed.add(uuid);
+        }
+        for (UUID uuid : removed) {
+            remove(uuid);
+        }
+        return removed.size();
+    }
+
+    /**
+     * Replaces the whole leaderboard with the given entries.
+     *
+     * @param scores Map of UUID and score
+     */
+    public synchronized void reset(Map<UUID, Long> scores) {
+        clear();
+        for (Map.Entry<UUID, Long> entry : scores.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    public synchronized boolean contains(UUID uuid) {
+        return nodes.containsKey(uuid);
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The position of the player starting at 1, or 0 if they are not on the leaderboard.
+     */
+    public synchronized int getPosition(UUID uuid) {
+        Node node = nodes.get(uuid);
+        if (node == null) return 0;
+
+        int position = 0;
+        Node current = root;
+        while (current != null) {
+            int comparison = compare(node, current);
+            if (comparison < 0) {
+                current = current.left;
+            } else if (comparison > 0) {
+                position += size(current.left) + 1;
+                current = current.right;
+            } else {
+                return position + size(current.left) + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param position The position starting at 1
+     * @return The UUID at the given position, or null if the position is out of range.
+     */
+    public synchronized UUID getUUID(int position) {
+        Node node = select(position);
+        return node == null ? null : node.uuid;
+    }
+
+    /**
+     * @param position The position starting at 1
+     * @return The score at the given position, or 0 if the position is out of range.
+     */
+    public synchronized long getScore(int position) {
+        Node node = select(position);
+        return node == null ? 0 : node.score;
+    }
+
+    /**
+     * @return A copy of the leaderboard as an ordered map of UUID and score.
+     */
+    public Map<UUID, Long> toMap() {
+        return toMap(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit The maximum amount of positions to include
+     * @return A copy of the top of the leaderboard as an ordered map of UUID and score.
+     */
+    public synchronized Map<UUID, Long> toMap(int limit) {
+        Map<UUID, Long> map = new LinkedHashMap<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while ((current != null || !stack.isEmpty()) && map.size() < limit) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            map.put(current.uuid, current.score);
+            current = current.right;
+        }
+        return map;
+    }
+
+    private Node select(int position) {
+        if (position < 1 || position > size(root)) return null;
+        Node current = root;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (position <= leftSize) {
+                current = current.left;
+            } else if (position == leftSize + 1) {
+                return current;
+            } else {
+                position -= leftSize + 1;
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    private Node insert(Node tree, Node node) {
+        if (tree == null) return node;
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+            if (tree.left.priority > tree.priority) tree = rotateRight(tree);
+        } else {
+            tree.right = insert(tree.right, node);
+            if (tree.right.priority > tree.priority) tree = rotateLeft(tree);
+        }
+        updateSize(tree);
+        return tree;
+    }
+
+    private Node remove(Node tree, Node node) {
+        if (tree == null) return null;
+        if (tree == node) return merge(tree.left, tree.right);
+        if (compare(node, tree) < 0) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        updateSize(tree);
+        return tree;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        updateSize(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateSize(node);
+        updateSize(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateSize(node);
+        updateSize(right);
+        return right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void updateSize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    /**
+     * Higher scores first, then UUIDs in the lexical order of their string form.
+     */
+    private static int compare(Node a, Node b) {
+        if (a.score != b.score) return a.score > b.score ? -1 : 1;
+        int comparison = Long.compareUnsigned(a.uuid.getMostSignificantBits(), b.uuid.getMostSignificantBits());
+        if (comparison != 0) return comparison;
+        return Long.compareUnsigned(a.uuid.getLeastSignificantBits(), b.uuid.getLeastSignificantBits());
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final int priority;
+        private long score;
+        private int size;
+        private Node left, right;
+
+        private Node(UUID uuid, long score, int priority) {
+            this.uuid = uuid;
+            this.score = score;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.tournament;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable view of the top positions of a tournament leaderboard as published to readers,
+ * so placeholder and menu lookups never block on or observe a leaderboard that is being rebuilt.
+ * Positions outside of the top are indexed separately by the tournament, as they only change
+ * on update while the top changes with every realtime score.
+ */
+public final class LeaderboardSnapshot {
+
+    public static final LeaderboardSnapshot EMPTY = new LeaderboardSnapshot(new UUID[0], new long[0], Collections.emptyMap());
+
+    private final UUID[] uuids;
+    private final long[] scores;
+    private final Map<UUID, Integer> positions;
+
+    private LeaderboardSnapshot(UUID[] uuids, long[] scores, Map<UUID, Integer> positions) {
+        this.uuids = uuids;
+        this.scores = scores;
+        this.positions = positions;
+    }
+
+    /**
+     * @param top Ordered map of the top positions' UUID and score
+     * @return A new snapshot
+     */
+    public static LeaderboardSnapshot of(Map<UUID, Long> top) {
+        UUID[] uuids = new UUID[top.size()];
+        long[] scores = new long[top.size()];
+        Map<UUID, Integer> positions = new HashMap<>();
+
+        int index = 0;
+        for (Map.Entry<UUID, Long> entry : top.entrySet()) {
+            uuids[index] = entry.getKey();
+            scores[index] = entry.getValue();
+            positions.put(entry.getKey(), ++index);
+        }
+        return new LeaderboardSnapshot(uuids, scores, positions);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return A snapshot without the given player in the top positions.
+     */
+    public LeaderboardSnapshot without(UUID uuid) {
+        if (!positions.containsKey(uuid)) return this;
+        Map<UUID, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < uuids.length; i++) {
+            if (!uuids[i].equals(uuid)) top.put(uuids[i], scores[i]);
+        }
+        return of(top);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The top position of the player starting at 1, or 0 if the player is not in the top.
+     */
+    public int getPosition(UUID uuid) {
+        return positions.getOrDefault(uuid, 0);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return true if the player holds one of the top positions
+     */
+    public boolean isTop(UUID uuid) {
+        return positions.containsKey(uuid);
+    }
+
+    /**
+     * @param position The position starting at 1
+     * @return The UUID at the given top position, or null if the position is out of range.
+     */
+    public UUID getUUID(int position) {
+        if (position < 1 || position > uuids.length) return null;
+        return uuids[position - 1];
+    }
+
+    /**
+     * @param position The position starting at 1
+     * @return The score at the given top position, or 0 if the position is out of range.
+     */
+    public long getScore(int position) {
+        if (position < 1 || position > scores.length) return 0;
+        return scores[position - 1];
+    }
+
+    /**
+     * @return The amount of top positions held.
+     */
+    public int size() {
+        return uuids.length;
+    }
+
+    /**
+     * @return A copy of the top positions as an ordered map of UUID and score.
+     */
+    public Map<UUID, Long> toMap() {
+        Map<UUID, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < uuids.length; i++) {
+            map.put(uuids[i], scores[i]);
+        }
+        return map;
+    }
+}
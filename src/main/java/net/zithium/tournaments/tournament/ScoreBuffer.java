@@ -0,0 +1,61 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.tournament;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Score changes of a tournament that have not been applied yet. Objectives add to a player's
+ * pending delta, which is applied to the tournament once per tick, so a burst of events from
+ * the same player only updates the leaderboard and challenge state once.
+ * <p>
+ * Each player keeps their delta cell until they are removed, so draining never races with
+ * a concurrent {@link #add(UUID, long)}.
+ */
+class ScoreBuffer {
+
+    private final ConcurrentHashMap<UUID, AtomicLong> deltas = new ConcurrentHashMap<>();
+
+    void add(UUID uuid, long amount) {
+        AtomicLong delta = deltas.get(uuid);
+        if (delta == null) {
+            delta = deltas.computeIfAbsent(uuid, key -> new AtomicLong());
+        }
+        delta.addAndGet(amount);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The delta of the player that has not been applied yet.
+     */
+    long get(UUID uuid) {
+        AtomicLong delta = deltas.get(uuid);
+        return delta == null ? 0 : delta.get();
+    }
+
+    void remove(UUID uuid) {
+        deltas.remove(uuid);
+    }
+
+    void clear() {
+        deltas.clear();
+    }
+
+    /**
+     * Takes every non-zero delta, resetting it to 0.
+     *
+     * @param consumer Receives the UUID of each player and their delta
+     */
+    void drain(ScoreStore.ScoreConsumer consumer) {
+        for (Map.Entry<UUID, AtomicLong> entry : deltas.entrySet()) {
+            long delta = entry.getValue().getAndSet(0);
+            if (delta != 0) consumer.accept(entry.getKey(), delta);
+        }
+    }
+}
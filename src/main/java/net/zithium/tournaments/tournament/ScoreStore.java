@@ -0,0 +1,114 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.tournament;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Participant scores of a tournament. Each participant owns a mutable atomic cell that is
+ * created once when they join, so score increments from any thread are lock-free, never lose
+ * updates and do not allocate.
+ */
+public class ScoreStore {
+
+    private final ConcurrentHashMap<UUID, AtomicLong> scores = new ConcurrentHashMap<>();
+
+    public boolean contains(UUID uuid) {
+        return scores.containsKey(uuid);
+    }
+
+    /**
+     * @param uuid The UUID of the participant
+     * @return The score of the participant, or 0 if they are not participating.
+     */
+    public long get(UUID uuid) {
+        AtomicLong score = scores.get(uuid);
+        return score == null ? 0 : score.get();
+    }
+
+    /**
+     * @param uuid The UUID of the participant
+     * @return The score cell of the participant, or null if they are not participating.
+     */
+    AtomicLong getCell(UUID uuid) {
+        return scores.get(uuid);
+    }
+
+    /**
+     * Sets the score of a participant, adding them if they are not participating yet.
+     *
+     * @param uuid  The UUID of the participant
+     * @param score The new score
+     * @return The previous score
+     */
+    public long set(UUID uuid, long score) {
+        AtomicLong current = scores.get(uuid);
+        if (current == null) {
+            current = scores.computeIfAbsent(uuid, key -> new AtomicLong());
+        }
+        return current.getAndSet(score);
+    }
+
+    /**
+     * Atomically adds to the score of a participant, adding them if they are not participating yet.
+     *
+     * @param uuid   The UUID of the participant
+     * @param amount The amount to add
+     * @return The updated score
+     */
+    public long add(UUID uuid, long amount) {
+        AtomicLong current = scores.get(uuid);
+        if (current == null) {
+            current = scores.computeIfAbsent(uuid, key -> new AtomicLong());
+        }
+        return current.addAndGet(amount);
+    }
+
+    public void remove(UUID uuid) {
+        scores.remove(uuid);
+    }
+
+    public void clear() {
+        scores.clear();
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    /**
+     * @return A live, read-only view of the participating UUIDs.
+     */
+    public Set<UUID> keySet() {
+        return Collections.unmodifiableSet(scores.keySet());
+    }
+
+    public void forEach(ScoreConsumer consumer) {
+        for (Map.Entry<UUID, AtomicLong> entry : scores.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue().get());
+        }
+    }
+
+    /**
+     * @return A copy of every participant and their current score.
+     */
+    public Map<UUID, Long> toMap() {
+        Map<UUID, Long> map = new HashMap<>(scores.size());
+        forEach(map::put);
+        return map;
+    }
+
+    @FunctionalInterface
+    public interface ScoreConsumer {
+        void accept(UUID uuid, long score);
+    }
+}
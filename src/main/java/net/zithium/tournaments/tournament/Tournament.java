@@ -11,12 +11,20 @@ import net.zithium.tournaments.events.CompletedChallengeEvent;
 import net.zithium.tournaments.events.TournamentEndEvent;
 import net.zithium.tournaments.events.TournamentStartEvent;
 import net.zithium.tournaments.objective.XLObjective;
+import net.zithium.tournaments.objective.rule.ScoringRules;
+import net.zithium.tournaments.storage.AsyncStorage;
 import net.zithium.tournaments.storage.StorageHandler;
+import net.zithium.tournaments.utility.MaterialFilter;
+import net.zithium.tournaments.utility.PointTable;
 import net.zithium.tournaments.utility.TimeUtil;
 import net.zithium.tournaments.utility.Timeline;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
 import org.bukkit.scheduler.BukkitTask;
@@ -24,40 +32,74 @@ import org.bukkit.scheduler.BukkitTask;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 public class Tournament {
 
+    /**
+     * Milliseconds a looked up position is reused for while the participant's score is unchanged,
+     * so positions still follow other participants overtaking them.
+     */
+    private static final long POSITION_LOOKUP_EXPIRY = 300_000L;
+    // Positions requested above this are not loaded, so a mistyped placeholder cannot load a whole round.
+    private static final int MAX_REQUESTED_WINDOW = 1000;
+
     private final XLTournamentsPlugin plugin;
     private final ActionManager actionManager;
     private final StorageHandler storageHandler;
+    private final AsyncStorage storage;
     private final String identifier;
 
-    private UUID gameUniqueId;
+    private volatile UUID gameUniqueId;
+    // Guards switching rounds against draining the changed scores of the previous round.
+    private final Object roundLock = new Object();
     private BukkitTask updateTask;
-    private TournamentStatus status;
+    private volatile TournamentStatus status;
     private ZonedDateTime startDate, endDate;
     private long startTimeMillis, endTimeMillis;
     private long durationInSeconds;
     private ZoneId zoneId;
-    private boolean updating;
+    private volatile boolean updating;
     private XLObjective objective;
     private Timeline timeline;
     private int leaderboardRefresh;
+    private int leaderboardSize;
+    private volatile int leaderboardWindow;
+    private volatile int requestedWindow;
+    private boolean realtimeLeaderboard;
+    private volatile boolean leaderboardLoaded;
     private List<String> disabledWorlds;
     private List<GameMode> disabledGamemodes;
+    private Set<String> disabledWorldNames;
+    private Set<GameMode> disabledGamemodeSet;
+    private final Set<UUID> restrictedPlayers;
+    private MaterialFilter materialWhitelist;
+    private Set<EntityType> entityWhitelist;
+    private PointTable pointTable;
+    private ScoringRules scoringRules;
     private Map<Integer, List<String>> rewards;
     private boolean challenge;
-    private int challengeGoal;
+    private long challengeGoal;
+    private final Map<UUID, Integer> challengeCompletions;
+    private int completedChallenges;
+    private Map<UUID, Long> deferredCompletions;
     private List<String> startActions, endActions;
 
     private boolean automaticParticipation;
     private Permission participationPermission;
     private double participationCost;
     private List<String> participationActions;
-    private final Map<UUID, Integer> participants;
-    private Map<UUID, Integer> sortedParticipants;
+    private final ScoreStore participants;
+    private final ScoreBuffer pendingScores;
+    private final Set<UUID> dirtyParticipants;
+    private final Leaderboard leaderboard;
+    private final Object leaderboardLock;
+    private volatile LeaderboardSnapshot leaderboardSnapshot;
+    private volatile Map<UUID, Integer> positionIndex;
+    private Map<UUID, PositionLookup> positionLookups;
 
     private final Map<String, Object> meta;
 
@@ -66,17 +108,34 @@ public class Tournament {
         this.identifier = identifier;
         this.actionManager = plugin.getActionManager();
         this.storageHandler = plugin.getStorageManager().getStorageHandler();
-        this.participants = new ConcurrentHashMap<>();
-        this.sortedParticipants = new LinkedHashMap<>();
+        this.storage = plugin.getStorageManager().getAsyncStorage();
+        this.participants = new ScoreStore();
+        this.pendingScores = new ScoreBuffer();
+        this.dirtyParticipants = ConcurrentHashMap.newKeySet();
+        this.leaderboard = new Leaderboard();
+        this.leaderboardLock = new Object();
+        this.leaderboardSnapshot = LeaderboardSnapshot.EMPTY;
+        this.positionIndex = Collections.emptyMap();
+        this.positionLookups = Collections.emptyMap();
         this.challenge = false;
         this.challengeGoal = -1;
+        this.challengeCompletions = new HashMap<>();
         this.leaderboardRefresh = 60;
+        this.leaderboardSize = 10;
+        this.leaderboardWindow = 10;
+        this.realtimeLeaderboard = false;
+        this.leaderboardLoaded = false;
         this.automaticParticipation = false;
         this.updating = false;
         this.participationCost = 0.0;
         this.participationActions = new ArrayList<>();
         this.disabledWorlds = new ArrayList<>();
         this.disabledGamemodes = new ArrayList<>();
+        this.disabledWorldNames = Collections.emptySet();
+        this.disabledGamemodeSet = EnumSet.noneOf(GameMode.class);
+        this.restrictedPlayers = ConcurrentHashMap.newKeySet();
+        this.materialWhitelist = MaterialFilter.ALL;
+        this.pointTable = PointTable.FLAT;
         this.rewards = new HashMap<>();
         this.startActions = new ArrayList<>();
         this.endActions = new ArrayList<>();
@@ -94,11 +153,11 @@ public class Tournament {
         endTimeMillis = endDate.toInstant().toEpochMilli();
 
         if (TimeUtil.isWaiting(startDate)) {
-            status = TournamentStatus.WAITING;
+            setStatus(TournamentStatus.WAITING);
         } else if (!TimeUtil.isWaiting(startDate) && !TimeUtil.isEnded(endDate)) {
-            status = TournamentStatus.ACTIVE;
+            setStatus(TournamentStatus.ACTIVE);
         } else if (TimeUtil.isEnded(endDate)) {
-            status = TournamentStatus.ENDED;
+            setStatus(TournamentStatus.ENDED);
         }
     }
 
@@ -109,10 +168,10 @@ public class Tournament {
      */
     public void start(boolean clearParticipants) {
         if (debug()) plugin.getLogger().log(Level.INFO, "Executing tournament start.");
-        // If it's the first time, asynchronously clear participants.
+        // If it's the first time, clear participants. Storage is cleared asynchronously.
         if (clearParticipants) {
             if (debug()) plugin.getLogger().log(Level.INFO, "Clearing tournament participants.");
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::clearParticipants);
+            clearParticipants();
         }
         else {
             for(Player player : Bukkit.getOnlinePlayers()) {
@@ -126,16 +185,29 @@ public class Tournament {
             Bukkit.getScheduler().runTask(plugin, () -> actionManager.executeActions(null, startActions, this));
         }
 
+        // Resume the challenge completion order from storage, unless it is about to be cleared.
+        // Players reaching the goal before it is loaded are given their position afterwards.
+        boolean resumeCompletions = challenge && !clearParticipants;
+        if (resumeCompletions) {
+            synchronized (challengeCompletions) {
+                deferredCompletions = new LinkedHashMap<>();
+            }
+        }
+
         // Set the tournament status to ACTIVE.
-        status = TournamentStatus.ACTIVE;
+        setStatus(TournamentStatus.ACTIVE);
 
-        gameUniqueId = UUID.randomUUID();
+        // The round is only replaced when participants are cleared, so a resumed tournament keeps its scores.
+        gameUniqueId = storageHandler.getActiveRound(identifier);
 
-        // Schedule a task to periodically update the tournament (asynchronously).
-        updateTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            // If not already updating, perform the update.
-            if (!isUpdating()) update();
-        }, 0, leaderboardRefresh * 20L);
+        if (resumeCompletions) {
+            UUID round = gameUniqueId;
+            storage.supply(handler -> handler.getChallengeCompletions(identifier, round)).whenComplete((completions, failure) ->
+                    loadChallengeCompletions(round, completions != null ? completions : Collections.emptyMap()));
+        }
+
+        // Schedule a task to periodically update the tournament on the storage threads.
+        updateTask = Bukkit.getScheduler().runTaskTimer(plugin, this::requestUpdate, 0, leaderboardRefresh * 20L);
 
         // Trigger a TournamentStartEvent to notify other plugins.
         Bukkit.getScheduler().runTask(plugin, () ->
@@ -151,47 +223,58 @@ public class Tournament {
      * executes end actions, and clears all participant data.
      * If the tournament is not in an active state, this method does nothing.
      *
+     * @return A future completed on the server thread once the round has been cleared, after which the tournament can be started again.
      * @throws IllegalStateException if the tournament is in an invalid state for stopping.
      * @see TournamentEndEvent
      */
-    public void stop() {
+    public CompletableFuture<Void> stop() {
         if (debug()) plugin.getLogger().log(Level.INFO, "Executing tournament stop.");
         if (status != TournamentStatus.ACTIVE) throw new IllegalStateException("Attempted to stop a Tournament that is not ACTIVE");
-        status = TournamentStatus.ENDED;
+        setStatus(TournamentStatus.ENDED);
         
         if (updateTask != null) updateTask.cancel();
-        update();
+        applyPendingScores();
 
-        Bukkit.getPluginManager().callEvent(new TournamentEndEvent(this, new TournamentData(identifier, gameUniqueId, new LinkedHashMap<>(sortedParticipants))));
+        UUID round = gameUniqueId;
+        CompletableFuture<Void> stopped = new CompletableFuture<>();
 
-        if (challenge) {
-            if (!endActions.isEmpty()) {
-                if (debug()) plugin.getLogger().log(Level.INFO, "Executing end actions.");
+        // The final leaderboard is loaded on the storage threads, then rewards are handed out on the
+        // server thread. While the plugin disables, the scheduler no longer runs tasks, so finish in place.
+        if (plugin.getTournamentManager().isDisabling()) {
+            update();
+            finishStop(round, leaderboardSnapshot, stopped);
+            return stopped;
+        }
 
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    actionManager.executeActions(null, endActions, this);
-                    if (debug()) plugin.getLogger().log(Level.INFO, "Tournament has been stopped.");
+        updating = true;
+        storage.supply(handler -> {
+            update();
+            return leaderboardSnapshot;
+        }).whenComplete((snapshot, failure) -> Bukkit.getScheduler().runTask(plugin, () -> finishStop(round, snapshot != null ? snapshot : leaderboardSnapshot, stopped)));
+        return stopped;
+    }
 
-                    clearParticipants();
-                    plugin.getTournamentManager().removeTournament(this);
-                });
-            }
-        } else {
+    private void finishStop(UUID round, LeaderboardSnapshot results, CompletableFuture<Void> stopped) {
+        Bukkit.getPluginManager().callEvent(new TournamentEndEvent(this, new TournamentData(identifier, round, results.toMap())));
+
+        // Challenge rewards are handed out as players complete the challenge.
+        if (!challenge) {
             for (int position : rewards.keySet()) {
-                OfflinePlayer player = getPlayerFromPosition(position);
-                if (player != null) {
-                    if(position == 1 && getScore(player.getUniqueId()) > 0)
+                UUID winner = results.getUUID(position);
+                if (winner != null) {
+                    OfflinePlayer player = Bukkit.getOfflinePlayer(winner);
+                    if(position == 1 && results.getScore(position) > 0)
                     {
-                        storageHandler.addPlayerTournamentWins(player.getUniqueId().toString());
+                        storage.run(handler -> handler.addPlayerTournamentWins(winner.toString()));
                     }
                     if (player.isOnline()) {
                         Bukkit.getScheduler().runTask(plugin, () -> actionManager.executeActions(player.getPlayer(), rewards.get(position), this));
                         if (debug()) plugin.getLogger().log(Level.INFO, "Executed end actions for " + player.getName() + "(" + player.getUniqueId() + ")");
                     } else {
-                        Bukkit.getScheduler().runTask(plugin, () -> {
+                        storage.run(handler -> {
                             for (String action : rewards.get(position)) {
-                                storageHandler.addActionToQueue(player.getUniqueId().toString(), action);
-                                if (debug()) plugin.getLogger().log(Level.INFO, "Queued end actions for " + player.getName() + "(" + player.getUniqueId() + ")");
+                                handler.addActionToQueue(winner.toString(), action);
+                                if (debug()) plugin.getLogger().log(Level.INFO, "Queued end actions for " + player.getName() + "(" + winner + ")");
                             }
                         });
                     }
@@ -202,51 +285,239 @@ public class Tournament {
         if (!endActions.isEmpty()) {
             if (debug()) plugin.getLogger().log(Level.INFO, "Executing end actions.");
             Bukkit.getScheduler().runTask(plugin, () -> {
-                actionManager.executeActions(null, endActions, this);
-                if (debug()) plugin.getLogger().log(Level.INFO, "Tournament has been stopped.");
-                clearParticipants();
-                plugin.getTournamentManager().removeTournament(this);
+                try {
+                    actionManager.executeActions(null, endActions, this);
+                    endRound();
+                } finally {
+                    stopped.complete(null);
+                }
             });
         }
         else {
-            if (debug()) plugin.getLogger().log(Level.INFO, "Tournament has been stopped.");
-            clearParticipants();
-            plugin.getTournamentManager().removeTournament(this);
+            endRound();
+            stopped.complete(null);
         }
     }
 
+    private void endRound() {
+        if (debug()) plugin.getLogger().log(Level.INFO, "Tournament has been stopped.");
+        // Started again before this stop finished, so the participants belong to the new round.
+        if (status == TournamentStatus.ACTIVE) return;
+        clearParticipants();
+        plugin.getTournamentManager().removeTournament(this);
+    }
+
     /**
      * Updates the tournament's participant information, including their scores or rankings,
      * and refreshes the list of sorted participants based on the updated data.
+     * Only the top {@link #getLeaderboardWindow()} positions are loaded; the positions of
+     * loaded participants outside of that window are looked up individually, but only when
+     * their score changed since their last lookup or that lookup is older than
+     * {@link #POSITION_LOOKUP_EXPIRY} milliseconds.
+     * <p>
+     * With a realtime leaderboard the top positions are only loaded from storage once, as
+     * {@link #addScore(UUID, long, boolean)} keeps them current in memory afterwards.
      * This method sets a flag to prevent concurrent updates while it's running.
      * It should be called periodically to ensure accurate participant data.
      */
     public void update() {
         updating = true;
+        try {
+            refresh();
+        } finally {
+            updating = false;
+        }
+    }
+
+    private void refresh() {
+        UUID round = gameUniqueId;
+        // Flushed on the writer, so the scores read here never land after a later write for the same player.
+        storage.run(handler -> flushParticipants()).join();
+
+        if (!realtimeLeaderboard || !leaderboardLoaded) {
+            Map<UUID, Long> topPlayers = storageHandler.getTopPlayers(identifier, leaderboardWindow);
+            if (topPlayers == null) return;
+
+            synchronized (leaderboardLock) {
+                leaderboard.reset(topPlayers);
+                if (realtimeLeaderboard) {
+                    participants.forEach(leaderboard::put);
+                    leaderboardLoaded = true;
+                }
+            }
+        } else {
+            // Players that went offline while in the top are dropped once they are pushed out of it.
+            synchronized (leaderboardLock) {
+                leaderboard.trim(leaderboardWindow, participants::contains);
+            }
+        }
 
-        sortedParticipants.clear();
-        for (Map.Entry<UUID, Integer> entry : participants.entrySet()) {
-            storageHandler.updateParticipant(getIdentifier(), entry.getKey(), entry.getValue());
+        long now = System.currentTimeMillis();
+        Map<UUID, Integer> positions = new HashMap<>();
+        Map<UUID, PositionLookup> lookups = new HashMap<>();
+        Map<UUID, Integer> previous = positionIndex;
+        participants.forEach((uuid, score) -> {
+            if (isInLeaderboardWindow(leaderboard.getPosition(uuid))) return;
+
+            PositionLookup lookup = positionLookups.get(uuid);
+            int position = previous.getOrDefault(uuid, 0);
+            if (lookup == null || lookup.score != score || now - lookup.time > POSITION_LOOKUP_EXPIRY || position <= leaderboardWindow) {
+                position = storageHandler.getPlayerPosition(identifier, uuid, score);
+                lookup = new PositionLookup(score, now);
+            }
+            positions.put(uuid, position);
+            lookups.put(uuid, lookup);
+        });
+        positionLookups = lookups;
+
+        synchronized (leaderboardLock) {
+            // Participants were cleared while loading, so the positions belong to the previous round.
+            if (round != gameUniqueId) return;
+            LeaderboardSnapshot snapshot = LeaderboardSnapshot.of(leaderboard.toMap(leaderboardWindow));
+            for (int position = 1; position <= snapshot.size(); position++) {
+                positions.put(snapshot.getUUID(position), position);
+            }
+            positionIndex = positions;
+            leaderboardSnapshot = snapshot;
         }
+    }
 
-        sortedParticipants = storageHandler.getTopPlayers(identifier);
-        updating = false;
+    /**
+     * Gets the amount of leaderboard positions kept in memory. This is the configured
+     * leaderboard size, extended to cover every rewarded position and every position
+     * requested through {@link #getPlayerFromPosition(int)} or {@link #getScoreFromPosition(int)}.
+     *
+     * @return The amount of top positions loaded on each update.
+     */
+    public int getLeaderboardWindow() {
+        return leaderboardWindow;
     }
 
     /**
-     * Clears all participants from the target tournament.
+     * Publishes the current top positions of a realtime leaderboard to readers. The position
+     * index of everyone else is left as is until the next update.
+     */
+    private void publishLeaderboardTop() {
+        synchronized (leaderboardLock) {
+            leaderboardSnapshot = LeaderboardSnapshot.of(leaderboard.toMap(leaderboardWindow));
+        }
+    }
+
+    private boolean isInLeaderboardWindow(int position) {
+        return position > 0 && position <= leaderboardWindow;
+    }
+
+    private void updateLeaderboardWindow() {
+        int window = Math.max(leaderboardSize, requestedWindow);
+        for (int position : rewards.keySet()) {
+            window = Math.max(window, position);
+        }
+        leaderboardWindow = window;
+    }
+
+    /**
+     * Extends the leaderboard window to a position requested by a menu or placeholder, so positions
+     * above the configured leaderboard size resolve from the next update on rather than never.
+     */
+    private void requestPosition(int position) {
+        if (position <= leaderboardWindow || position > MAX_REQUESTED_WINDOW) return;
+
+        synchronized (leaderboardLock) {
+            if (position <= leaderboardWindow) return;
+            requestedWindow = position;
+            updateLeaderboardWindow();
+            // A realtime leaderboard only loads the top positions once, so load the larger window again.
+            leaderboardLoaded = false;
+        }
+        plugin.getLogger().info("Extended the leaderboard of tournament " + identifier + " to " + position
+                + " positions, as that position was requested. Set leaderboard_size to load them from the start.");
+        if (status == TournamentStatus.ACTIVE) requestUpdate();
+    }
+
+    /**
+     * Writes the scores of every participant changed since the last flush to storage
+     * in a single batch. Participants that have not scored are not written. If the batch
+     * fails, the participants are marked as changed again so the next flush retries them.
+     */
+    public void flushParticipants() {
+        if (dirtyParticipants.isEmpty()) return;
+
+        UUID round;
+        Map<UUID, Long> changed = new HashMap<>();
+        synchronized (roundLock) {
+            round = gameUniqueId;
+            Iterator<UUID> iterator = dirtyParticipants.iterator();
+            while (iterator.hasNext()) {
+                UUID uuid = iterator.next();
+                iterator.remove();
+
+                if (participants.contains(uuid)) changed.put(uuid, participants.get(uuid));
+            }
+        }
+
+        if (changed.isEmpty()) return;
+
+        if (!storageHandler.updateParticipants(identifier, round, changed)) {
+            synchronized (roundLock) {
+                // Scores of a previous round are not retried, as they would land in the new round.
+                if (round == gameUniqueId) dirtyParticipants.addAll(changed.keySet());
+            }
+        }
+    }
+
+    /**
+     * Clears all participants from the target tournament. Storage switches to a new round rather
+     * than deleting the scores of the previous one, which are pruned in the background.
      */
     public void clearParticipants() {
         if (debug()) plugin.getLogger().log(Level.INFO, "Clearing participants for", identifier);
-        participants.clear();
-        sortedParticipants.clear();
-        storageHandler.clearParticipants(identifier);
+        synchronized (roundLock) {
+            participants.clear();
+            pendingScores.clear();
+            dirtyParticipants.clear();
+            gameUniqueId = UUID.randomUUID();
+            storageHandler.setActiveRound(identifier, gameUniqueId);
+        }
+        synchronized (leaderboardLock) {
+            leaderboard.clear();
+            leaderboardSnapshot = LeaderboardSnapshot.EMPTY;
+            positionIndex = Collections.emptyMap();
+        }
+        if (challenge) {
+            synchronized (challengeCompletions) {
+                challengeCompletions.clear();
+                completedChallenges = 0;
+                deferredCompletions = null;
+            }
+        }
+        // Completions are kept per round, so those of the previous round are pruned along with its scores.
+        storage.run(handler -> handler.saveActiveRound(identifier));
     }
 
     public void clearParticipant(UUID uuid) {
         participants.remove(uuid);
-        sortedParticipants.remove(uuid);
-        storageHandler.clearParticipant(identifier, uuid);
+        pendingScores.remove(uuid);
+        dirtyParticipants.remove(uuid);
+        synchronized (leaderboardLock) {
+            leaderboard.remove(uuid);
+            leaderboardSnapshot = leaderboardSnapshot.without(uuid);
+            if (positionIndex.containsKey(uuid)) {
+                Map<UUID, Integer> positions = new HashMap<>(positionIndex);
+                positions.remove(uuid);
+                positionIndex = positions;
+            }
+        }
+        if (challenge) {
+            synchronized (challengeCompletions) {
+                challengeCompletions.remove(uuid);
+                if (deferredCompletions != null) deferredCompletions.remove(uuid);
+            }
+        }
+        UUID round = gameUniqueId;
+        storage.run(handler -> {
+            handler.clearParticipant(identifier, round, uuid);
+            if (challenge) handler.clearChallengeCompletion(identifier, round, uuid);
+        });
     }
 
     // Start of TournamentFactory methods //
@@ -258,7 +529,7 @@ public class Tournament {
         this.challenge = challenge;
     }
 
-    void setChallengeGoal(int amount) {
+    void setChallengeGoal(long amount) {
         this.challengeGoal = amount;
     }
 
@@ -279,6 +550,16 @@ public class Tournament {
         this.leaderboardRefresh = time;
     }
 
+    void setLeaderboardSize(int size) {
+        if (size < 1) size = 1;
+        this.leaderboardSize = size;
+        updateLeaderboardWindow();
+    }
+
+    void setRealtimeLeaderboard(boolean realtimeLeaderboard) {
+        this.realtimeLeaderboard = realtimeLeaderboard;
+    }
+
     void setAutomaticParticipation(boolean value) {
         this.automaticParticipation = value;
     }
@@ -297,14 +578,17 @@ public class Tournament {
 
     void setDisabledWorlds(List<String> worlds) {
         this.disabledWorlds = worlds;
+        this.disabledWorldNames = new HashSet<>(worlds);
     }
 
     void setDisabledGamemodes(List<GameMode> gamemodes) {
         this.disabledGamemodes = gamemodes;
+        this.disabledGamemodeSet = gamemodes.isEmpty() ? EnumSet.noneOf(GameMode.class) : EnumSet.copyOf(gamemodes);
     }
 
     void setRewards(Map<Integer, List<String>> rewards) {
         this.rewards = rewards;
+        updateLeaderboardWindow();
     }
 
     void setStartActions(List<String> startActions) {
@@ -334,15 +618,26 @@ public class Tournament {
         return "N/A";
     }
 
+    /**
+     * @param uuid The UUID of the player
+     * @return The position of the player starting at 1, or 0 if unknown.
+     */
     public int getPosition(UUID uuid) {
-        if (sortedParticipants.containsKey(uuid)) {
-            return (new ArrayList<>(sortedParticipants.keySet())).indexOf(uuid) + 1;
-        }
-        return 0;
+        LeaderboardSnapshot top = leaderboardSnapshot;
+        int position = top.getPosition(uuid);
+        if (position > 0) return position;
+
+        position = positionIndex.getOrDefault(uuid, 0);
+        // Dropped out of the top since the last update, so placed directly below it until looked up again.
+        return isInLeaderboardWindow(position) ? top.size() + 1 : position;
     }
 
-    public int getScore(UUID uuid) {
-        return participants.getOrDefault(uuid, 0);
+    /**
+     * @param uuid The UUID of the player
+     * @return The score of the player, including score added this tick that has not been applied yet.
+     */
+    public long getScore(UUID uuid) {
+        return participants.get(uuid) + pendingScores.get(uuid);
     }
 
     /**
@@ -352,15 +647,9 @@ public class Tournament {
      * @return The OfflinePlayer associated with the given position or null if not found.
      */
     public OfflinePlayer getPlayerFromPosition(int position) {
-        if (position < 1 || position > sortedParticipants.size()) return null;
-        int count = 1;
-        for (UUID uuid : sortedParticipants.keySet()) {
-            if (count == position) {
-                return Bukkit.getOfflinePlayer(uuid);
-            }
-            count++;
-        }
-        return null;
+        requestPosition(position);
+        UUID uuid = leaderboardSnapshot.getUUID(position);
+        return uuid != null ? Bukkit.getOfflinePlayer(uuid) : null;
     }
 
     /**
@@ -370,20 +659,10 @@ public class Tournament {
      * @param position The position of the participant in the sorted list.
      * @return The score of the participant at the given position, or 0 if the position is invalid or the score is non-positive.
      */
-    public int getScoreFromPosition(int position) {
-        // Check if the specified position is out of bounds or non-positive.
-        if (position < 1 || position > sortedParticipants.size()) {
-            return 0;
-        }
-
-        // Get the UUID of the participant at the specified position.
-        UUID uuid = (UUID) sortedParticipants.keySet().toArray()[position - 1];
-
-        // Get the score of the participant at the specified position.
-        int score = sortedParticipants.get(uuid);
-
-        // Return the score (positive or 0).
-        return Math.max(0, score);
+    public long getScoreFromPosition(int position) {
+        requestPosition(position);
+        // Out of range positions have a score of 0, so only negative scores need clamping.
+        return Math.max(0, leaderboardSnapshot.getScore(position));
     }
 
     /**
@@ -394,51 +673,159 @@ public class Tournament {
      * @param insertDatabase Insert into the database true/false
      */
 
-    public void addParticipant(UUID uuid, int score, boolean insertDatabase) {
+    public void addParticipant(UUID uuid, long score, boolean insertDatabase) {
         if (debug()) plugin.getLogger().log(Level.INFO, "[DEBUG] Adding " + uuid + " to a tournament");
 
-        synchronized (participants) {
-            participants.put(uuid, score);
+        participants.set(uuid, score);
+        if (realtimeLeaderboard) {
+            updateRealtimeLeaderboard(uuid, score);
         }
         if (insertDatabase) {
-            storageHandler.addParticipant(getIdentifier(), uuid);
+            UUID round = gameUniqueId;
+            storage.run(handler -> handler.addParticipant(identifier, round, uuid));
         }
+        if (objective != null) objective.onParticipationChanged(this, uuid);
     }
 
-    public void addScore(UUID uuid, int amount) {
+    /**
+     * Adds to the score of a player. The change is buffered and applied with every other
+     * change made to the player's score this tick, see {@link #applyPendingScores()}.
+     *
+     * @param uuid   The UUID of the player
+     * @param amount The amount to add
+     */
+    public void addScore(UUID uuid, long amount) {
         addScore(uuid, amount, false);
     }
 
-    public void addScore(UUID uuid, int amount, boolean replace) {
-        if (participants.containsKey(uuid)) {
-            participants.put(uuid, replace ? amount : participants.get(uuid) + amount);
+    /**
+     * @param uuid    The UUID of the player
+     * @param amount  The amount to add, or the new score if replacing
+     * @param replace Replace the score of the player immediately instead of adding to it
+     */
+    public void addScore(UUID uuid, long amount, boolean replace) {
+        if (replace) {
+            pendingScores.remove(uuid);
+            long previous = participants.set(uuid, amount);
+            onScoreChanged(uuid, previous, amount);
         } else {
-            participants.put(uuid, amount);
-        }
-
-        if (hasFinishedChallenge(uuid)) {
-            storageHandler.updateParticipant(getIdentifier(), uuid, participants.get(uuid));
-
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                int position = getPlayersCompletedChallenge();
-                Player player = Bukkit.getPlayer(uuid);
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    if (rewards.containsKey(position)) {
-                        if(position == 1 && getScore(uuid) > 0)
-                        {
-                            storageHandler.addPlayerTournamentWins(uuid.toString());
-                        }
-                        actionManager.executeActions(player, rewards.get(position), this);
-                    }
+            pendingScores.add(uuid, amount);
+        }
+    }
 
-                    Bukkit.getPluginManager().callEvent(new CompletedChallengeEvent(player, position, this));
-                });
-            });
+    /**
+     * Applies the score added to each player since the last call as a single change.
+     * Called every tick by the {@link TournamentManager}.
+     */
+    public void applyPendingScores() {
+        pendingScores.drain((uuid, amount) -> {
+            long score = participants.add(uuid, amount);
+            onScoreChanged(uuid, score - amount, score);
+        });
+    }
+
+    private void onScoreChanged(UUID uuid, long previous, long score) {
+        dirtyParticipants.add(uuid);
+        if (realtimeLeaderboard) {
+            updateRealtimeLeaderboard(uuid, score);
+        }
+
+        // Reaching the goal, or having the score set back below it, changes whether the player can still score.
+        if (challenge && (score >= challengeGoal) != (previous >= challengeGoal) && objective != null) {
+            objective.onParticipationChanged(this, uuid);
+        }
+
+        if (challenge && score >= challengeGoal && previous < challengeGoal) {
+            int position = completeChallenge(uuid, score);
+            if (position == 0) return;
+
+            rewardChallenge(gameUniqueId, uuid, score, position);
         }
     }
 
+    private void rewardChallenge(UUID round, UUID uuid, long score, int position) {
+        storage.run(handler -> {
+            handler.updateParticipant(identifier, round, uuid, score);
+            handler.addChallengeCompletion(identifier, round, uuid, position);
+            if (position == 1 && score > 0 && rewards.containsKey(position)) {
+                handler.addPlayerTournamentWins(uuid.toString());
+            }
+        });
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Player player = Bukkit.getPlayer(uuid);
+            if (rewards.containsKey(position)) {
+                actionManager.executeActions(player, rewards.get(position), this);
+            }
+
+            Bukkit.getPluginManager().callEvent(new CompletedChallengeEvent(player, position, this));
+        });
+    }
+
+    /**
+     * Assigns the next finishing position to a player that reached the challenge goal.
+     * While stored completions are still loading the player is deferred instead.
+     *
+     * @param uuid  The UUID of the player
+     * @param score The score the player reached the goal with
+     * @return The finishing position starting at 1, or 0 if the player already completed the challenge or was deferred.
+     */
+    private int completeChallenge(UUID uuid, long score) {
+        synchronized (challengeCompletions) {
+            if (challengeCompletions.containsKey(uuid)) return 0;
+            if (deferredCompletions != null) {
+                deferredCompletions.putIfAbsent(uuid, score);
+                return 0;
+            }
+            int position = ++completedChallenges;
+            challengeCompletions.put(uuid, position);
+            return position;
+        }
+    }
+
+    /**
+     * Merges stored completions into the ones held in memory, then hands out positions
+     * after the stored ones to players that reached the goal while they were loading.
+     */
+    private void loadChallengeCompletions(UUID round, Map<UUID, Integer> completions) {
+        Map<UUID, Long> deferred;
+        Map<UUID, Integer> positions = new LinkedHashMap<>();
+        synchronized (challengeCompletions) {
+            // Participants were cleared while loading, so the completions belong to the previous round.
+            if (round != gameUniqueId || deferredCompletions == null) return;
+
+            challengeCompletions.putAll(completions);
+            for (int position : completions.values()) {
+                completedChallenges = Math.max(completedChallenges, position);
+            }
+
+            deferred = deferredCompletions;
+            deferredCompletions = null;
+            for (UUID uuid : deferred.keySet()) {
+                if (challengeCompletions.containsKey(uuid)) continue;
+                int position = ++completedChallenges;
+                challengeCompletions.put(uuid, position);
+                positions.put(uuid, position);
+            }
+        }
+        positions.forEach((uuid, position) -> rewardChallenge(round, uuid, deferred.get(uuid), position));
+    }
+
+    private void updateRealtimeLeaderboard(UUID uuid, long score) {
+        leaderboard.put(uuid, score);
+        // Only changes to the top positions need a new snapshot, everyone else is refreshed on update.
+        if (leaderboardSnapshot.isTop(uuid) || isInLeaderboardWindow(leaderboard.getPosition(uuid))) {
+            publishLeaderboardTop();
+        }
+    }
+
+    /**
+     * @return The amount of finishing positions handed out for the challenge.
+     */
     public int getPlayersCompletedChallenge() {
-        return storageHandler.getTopPlayersByScore(identifier, challengeGoal).size();
+        synchronized (challengeCompletions) {
+            return completedChallenges;
+        }
     }
 
     public String getStartDay() {
@@ -466,23 +853,96 @@ public class Tournament {
     }
 
     public boolean isParticipant(UUID uuid) {
-        return participants.containsKey(uuid);
+        return participants.contains(uuid);
     }
 
-    public Map<UUID, Integer> getParticipants() {
-        return participants;
+    /**
+     * @return A copy of every loaded participant and their current score.
+     */
+    public Map<UUID, Long> getParticipants() {
+        return participants.toMap();
+    }
+
+    public int getParticipantCount() {
+        return participants.size();
     }
 
     public boolean hasFinishedChallenge(UUID uuid) {
         return challenge && participants.get(uuid) >= challengeGoal;
     }
 
+    /**
+     * Checks whether a player can currently score in this tournament: they are participating,
+     * have not finished the challenge and are not in a disabled world or game mode.
+     * World and game mode restrictions are read from the cache kept by {@link #updateRestriction(Player)}.
+     *
+     * @param uuid The UUID of the player
+     * @return true if the player can score
+     */
+    public boolean isEligible(UUID uuid) {
+        AtomicLong score = participants.getCell(uuid);
+        if (score == null) return false;
+        if (challenge && score.get() >= challengeGoal) return false;
+        return restrictedPlayers.isEmpty() || !restrictedPlayers.contains(uuid);
+    }
+
+    /**
+     * @return true if this tournament disables any worlds or game modes
+     */
+    public boolean hasRestrictions() {
+        return !disabledWorldNames.isEmpty() || !disabledGamemodeSet.isEmpty();
+    }
+
+    public boolean isRestricted(World world, GameMode gameMode) {
+        return disabledGamemodeSet.contains(gameMode) || disabledWorldNames.contains(world.getName());
+    }
+
+    /**
+     * Re-evaluates the world and game mode restrictions of a player. Must be called on join
+     * and whenever the player changes world or game mode.
+     *
+     * @param player The player
+     */
+    public void updateRestriction(Player player) {
+        updateRestriction(player.getUniqueId(), player.getWorld(), player.getGameMode());
+    }
+
+    public void updateRestriction(UUID uuid, World world, GameMode gameMode) {
+        if (hasRestrictions() && isRestricted(world, gameMode)) {
+            restrictedPlayers.add(uuid);
+        } else {
+            restrictedPlayers.remove(uuid);
+        }
+    }
+
+    public void clearRestriction(UUID uuid) {
+        restrictedPlayers.remove(uuid);
+    }
+
     public void removeParticipant(UUID uuid) {
         participants.remove(uuid);
+        pendingScores.remove(uuid);
+        dirtyParticipants.remove(uuid);
+
+        // Offline players are only kept on a realtime leaderboard while they hold a top position,
+        // those pushed out of it later are dropped on the next update.
+        if (realtimeLeaderboard && !isInLeaderboardWindow(leaderboard.getPosition(uuid))) {
+            leaderboard.remove(uuid);
+        }
     }
 
-    public Map<UUID, Integer> getSortedParticipants() {
-        return sortedParticipants;
+    /**
+     * @return A copy of the loaded leaderboard window, ordered by position.
+     */
+    public Map<UUID, Long> getSortedParticipants() {
+        return leaderboardSnapshot.toMap();
+    }
+
+    /**
+     * @return The latest published leaderboard. The snapshot never changes, so it is safe to read from any thread.
+     */
+    public LeaderboardSnapshot getLeaderboardSnapshot() {
+        return leaderboardSnapshot;
     }
 
     public double getParticipationCost() {
@@ -509,7 +969,7 @@ public class Tournament {
         return challenge;
     }
 
-    public int getChallengeGoal() {
+    public long getChallengeGoal() {
         return challengeGoal;
     }
 
@@ -525,6 +985,14 @@ public class Tournament {
         return leaderboardRefresh;
     }
 
+    public int getLeaderboardSize() {
+        return leaderboardSize;
+    }
+
+    public boolean isRealtimeLeaderboard() {
+        return realtimeLeaderboard;
+    }
+
     public TournamentStatus getStatus() {
         return status;
     }
@@ -537,6 +1005,60 @@ public class Tournament {
         return disabledGamemodes;
     }
 
+    /**
+     * @return The compiled block or item whitelist of the objective, matching every material if none is configured.
+     */
+    public MaterialFilter getMaterialWhitelist() {
+        return materialWhitelist;
+    }
+
+    public void setMaterialWhitelist(MaterialFilter materialWhitelist) {
+        this.materialWhitelist = materialWhitelist;
+    }
+
+    /**
+     * @param type The entity type to test
+     * @return true if the objective's entity whitelist contains the type, or no whitelist is configured.
+     */
+    public boolean isEntityWhitelisted(EntityType type) {
+        return entityWhitelist == null || entityWhitelist.contains(type);
+    }
+
+    public void setEntityWhitelist(Set<EntityType> entityWhitelist) {
+        this.entityWhitelist = entityWhitelist;
+    }
+
+    /**
+     * @return The points each material or entity type is worth, one point each if none are configured.
+     */
+    public PointTable getPointTable() {
+        return pointTable;
+    }
+
+    public void setPointTable(PointTable pointTable) {
+        this.pointTable = pointTable;
+    }
+
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+
+    public void setScoringRules(ScoringRules scoringRules) {
+        this.scoringRules = scoringRules;
+    }
+
+    /**
+     * @param amount The amount the objective awards for the event
+     * @param player The player that triggered the event
+     * @param block  The block involved in the event, or null
+     * @param item   The item involved in the event, or null
+     * @param entity The entity involved in the event, or null
+     * @return The amount as weighted by the first matching scoring rule, or the amount itself if the tournament has no rules.
+     */
+    public long getPoints(long amount, Player player, Block block, Material item, EntityType entity) {
+        return scoringRules == null ? amount : scoringRules.evaluate(amount, player, block, item, entity);
+    }
+
     public Object getMeta(String identifier) {
         return meta.get(identifier);
     }
@@ -553,10 +1075,29 @@ public class Tournament {
         return meta.containsKey(identifier);
     }
 
+    /**
+     * @return The ID of the current round, which changes every time participants are cleared.
+     */
+    public UUID getGameUniqueId() {
+        return gameUniqueId;
+    }
+
     public boolean isUpdating() {
         return updating;
     }
 
+    /**
+     * Runs {@link #update()} on the storage threads, unless an update is already in progress.
+     */
+    public void requestUpdate() {
+        if (updating) return;
+        updating = true;
+        storage.supply(handler -> {
+            update();
+            return null;
+        });
+    }
+
     public ZoneId getZoneId() {
         return zoneId;
     }
@@ -582,10 +1123,27 @@ public class Tournament {
     }
 
     public void setStatus(TournamentStatus status) {
+        if (this.status == status) return;
         this.status = status;
+        // Keep the objective's cached list of active tournaments in sync.
+        if (objective != null) objective.updateActiveTournaments();
     }
 
     public boolean debug() {
         return XLTournamentsPlugin.isDebugMode();
     }
+
+    /**
+     * The score a participant's position was last looked up with, and when.
+     */
+    private static final class PositionLookup {
+
+        private final long score;
+        private final long time;
+
+        private PositionLookup(long score, long time) {
+            this.score = score;
+            this.time = time;
+        }
+    }
 }
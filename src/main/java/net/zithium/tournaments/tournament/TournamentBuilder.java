@@ -10,6 +10,7 @@ import net.zithium.tournaments.exception.ObjectiveNotFoundException;
 import net.zithium.tournaments.exception.TournamentLoadException;
 import net.zithium.tournaments.objective.ObjectiveManager;
 import net.zithium.tournaments.objective.XLObjective;
+import net.zithium.tournaments.objective.rule.ScoringRules;
 import net.zithium.tournaments.utility.Timeline;
 import org.bukkit.GameMode;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -23,19 +24,25 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class TournamentBuilder {
 
+    private static final Pattern LEADER_POSITION_PATTERN = Pattern.compile("LEADER_[A-Z_]+?_(\\d+)");
+
+    private final XLTournamentsPlugin plugin;
     private final Tournament tournament;
 
     public TournamentBuilder(XLTournamentsPlugin plugin, String identifier) {
+        this.plugin = plugin;
         tournament = new Tournament(plugin, identifier);
     }
 
     public TournamentBuilder loadFromFile(ObjectiveManager objectiveManager, FileConfiguration config) {
         // Check for challenge type
         if (config.getBoolean("challenge.enabled")) {
-            withChallengeGoal(config.getInt("challenge.goal"));
+            withChallengeGoal(config.getLong("challenge.goal"));
         }
 
         // Disabled worlds
@@ -90,8 +97,16 @@ public class TournamentBuilder {
 
         withObjective(objective);
 
+        // Scoring rules
+        if (config.contains("rules")) {
+            withScoringRules(ScoringRules.compile(config.getMapList("rules"), plugin.getLogger()));
+        }
+
         // Leaderboard update time
         withUpdateTime(config.getInt("leaderboard_refresh", 60));
+        // Configs from before leaderboard_size kept every position, so cover every position they reference.
+        withLeaderboardSize(config.contains("leaderboard_size") ? config.getInt("leaderboard_size") : getReferencedPositions(config));
+        withRealtimeLeaderboard(config.getBoolean("realtime_leaderboard", false));
 
         // Participation settings
         if (config.getBoolean("participation.automatic")) {
@@ -128,7 +143,12 @@ public class TournamentBuilder {
         return this;
     }
 
-    public TournamentBuilder withChallengeGoal(int amount) {
+    public TournamentBuilder withScoringRules(ScoringRules rules) {
+        tournament.setScoringRules(rules);
+        return this;
+    }
+
+    public TournamentBuilder withChallengeGoal(long amount) {
         tournament.setChallenge(true);
         tournament.setChallengeGoal(amount);
         return this;
@@ -149,11 +169,41 @@ public class TournamentBuilder {
         return this;
     }
 
+    /**
+     * @return The highest leaderboard position referenced by a placeholder in the config, at least 10
+     */
+    private int getReferencedPositions(FileConfiguration config) {
+        int positions = 10;
+        for (String key : config.getKeys(true)) {
+            List<String> values = config.isList(key) ? config.getStringList(key) : List.of(String.valueOf(config.get(key)));
+            for (String value : values) {
+                Matcher matcher = LEADER_POSITION_PATTERN.matcher(value.toUpperCase());
+                while (matcher.find()) {
+                    try {
+                        positions = Math.max(positions, Integer.parseInt(matcher.group(1)));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        return positions;
+    }
+
     public TournamentBuilder withUpdateTime(int time) {
         tournament.setUpdateTime(time);
         return this;
     }
 
+    public TournamentBuilder withLeaderboardSize(int size) {
+        tournament.setLeaderboardSize(size);
+        return this;
+    }
+
+    public TournamentBuilder withRealtimeLeaderboard(boolean realtime) {
+        tournament.setRealtimeLeaderboard(realtime);
+        return this;
+    }
+
     public TournamentBuilder withAutomaticParticipation() {
         tournament.setAutomaticParticipation(true);
         return this;
@@ -10,9 +10,9 @@ public class TournamentData {
 
     private final String identifier;
     private final UUID gameUniqueId;
-    private final Map<UUID, Integer> sortedParticipants;
+    private final Map<UUID, Long> sortedParticipants;
 
-    public TournamentData(String identifier, UUID gameUniqueId, Map<UUID, Integer> sortedParticipants) {
+    public TournamentData(String identifier, UUID gameUniqueId, Map<UUID, Long> sortedParticipants) {
         this.identifier = identifier;
         this.gameUniqueId = gameUniqueId;
         this.sortedParticipants = sortedParticipants;
@@ -26,7 +26,7 @@ public class TournamentData {
         return gameUniqueId;
     }
 
-    public Map<UUID, Integer> getSortedParticipants() {
+    public Map<UUID, Long> getSortedParticipants() {
         return sortedParticipants;
     }
 
@@ -55,7 +55,7 @@ public class TournamentData {
      * @param position The position of the participant in the sorted list.
      * @return The score of the participant at the given position, or 0 if the position is invalid or the score is non-positive.
      */
-    public int getScoreFromPosition(int position) {
+    public long getScoreFromPosition(int position) {
         // Check if the specified position is out of bounds or non-positive.
         if (position < 1 || position > sortedParticipants.size()) {
             return 0;
@@ -65,7 +65,7 @@ public class TournamentData {
         UUID uuid = (UUID) sortedParticipants.keySet().toArray()[position - 1];
 
         // Get the score of the participant at the specified position.
-        int score = sortedParticipants.get(uuid);
+        long score = sortedParticipants.get(uuid);
 
         // Return the score (positive or 0).
         return Math.max(0, score);
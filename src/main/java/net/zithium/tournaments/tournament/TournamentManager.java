@@ -18,6 +18,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.permissions.Permission;
@@ -25,6 +27,7 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -32,12 +35,20 @@ import java.util.stream.Stream;
 
 public class TournamentManager {
 
+    // Scores of previous rounds are deleted in small chunks, so pruning a large round never holds locks for long.
+    private static final int PRUNE_CHUNK_SIZE = 5000;
+    private static final long PRUNE_INTERVAL_TICKS = 20L * 60;
+
     private final XLTournamentsPlugin plugin;
     private Map<String, Tournament> tournaments;
     private Map<Tournament, Map<String, FileConfiguration>> allTournaments;
     private boolean listenersRegistered;
+    private volatile boolean disabling;
 
     private BukkitTask timerTask;
+    private BukkitTask scoreTask;
+    private BukkitTask pruneTask;
+    private CompletableFuture<Integer> pruning = CompletableFuture.completedFuture(0);
 
     public TournamentManager(XLTournamentsPlugin plugin) {
         this.plugin = plugin;
@@ -48,8 +59,11 @@ public class TournamentManager {
     public void onEnable() {
         tournaments = new HashMap<>();
         allTournaments = new HashMap<>();
+        disabling = false;
+        plugin.getStorageManager().setBlockingAllowed(false);
 
         plugin.getStorageManager().getStorageHandler().createTournamentWinsTable();
+        plugin.getStorageManager().getStorageHandler().createChallengeCompletionsTable();
 
         File dataFolder = plugin.getDataFolder();
         File directory = new File(dataFolder.getAbsolutePath() + File.separator + "tournaments");
@@ -70,6 +84,7 @@ public class TournamentManager {
         }
 
         // Load tournaments
+        List<CompletableFuture<Void>> enabling = new ArrayList<>();
         for (File file : yamlFiles) {
             FileConfiguration config;
             try {
@@ -78,7 +93,7 @@ public class TournamentManager {
                 plugin.getLogger().log(Level.SEVERE, "There was a YAML error while trying to load " + file.getName() + ". Skipping..", e);
                 continue;
             }
-            registerTournament(file.getName().replace(".yml", ""), config);
+            enabling.add(registerTournament(file.getName().replace(".yml", ""), config));
         }
 
         if (!listenersRegistered) {
@@ -86,24 +101,57 @@ public class TournamentManager {
                     new Listener() {
                         @EventHandler(priority = EventPriority.MONITOR)
                         public void onPlayerJoin(final PlayerJoinEvent event) {
+                            updateRestrictions(event.getPlayer());
                             loadPlayerCache(event.getPlayer());
                         }
                     }, new Listener() {
                         @EventHandler(priority = EventPriority.MONITOR)
                         public void onPlayerQuit(final PlayerQuitEvent event) {
-                            savePlayerCache(event.getPlayer().getUniqueId());
+                            UUID uuid = event.getPlayer().getUniqueId();
+                            tournaments.values().forEach(tournament -> tournament.clearRestriction(uuid));
+                            savePlayerCache(uuid);
+                        }
+                    }, new Listener() {
+                        @EventHandler(priority = EventPriority.MONITOR)
+                        public void onPlayerChangedWorld(final PlayerChangedWorldEvent event) {
+                            updateRestrictions(event.getPlayer());
+                        }
+                    }, new Listener() {
+                        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+                        public void onPlayerGameModeChange(final PlayerGameModeChangeEvent event) {
+                            Player player = event.getPlayer();
+                            for (Tournament tournament : tournaments.values()) {
+                                tournament.updateRestriction(player.getUniqueId(), player.getWorld(), event.getNewGameMode());
+                            }
                         }
                     }).forEach(listener -> plugin.getServer().getPluginManager().registerEvents(listener, plugin));
             listenersRegistered = true;
         }
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            loadPlayerCache(player);
-        }
+        // Tournaments start once their round is loaded, so online players are only loaded into them afterwards.
+        // The futures complete on the server thread.
+        CompletableFuture.allOf(enabling.toArray(new CompletableFuture[0])).thenRun(() -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                loadPlayerCache(player);
+            }
+        });
 
         timerTask = new TournamentUpdateTask(this).runTaskTimer(plugin, 100L, 20L);
+        // Apply the score gained by each player once per tick, rather than once per event.
+        scoreTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> tournaments.values().forEach(Tournament::applyPendingScores), 1L, 1L);
+
+        tournaments.values().forEach(Tournament::requestUpdate);
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> tournaments.values().forEach(Tournament::update));
+        pruneTask = Bukkit.getScheduler().runTaskTimer(plugin, this::pruneRounds, PRUNE_INTERVAL_TICKS, PRUNE_INTERVAL_TICKS);
+    }
+
+    /**
+     * Deletes a chunk of scores from rounds that are no longer active, unless the previous
+     * chunk is still being deleted.
+     */
+    private void pruneRounds() {
+        if (!pruning.isDone()) return;
+        pruning = plugin.getStorageManager().getAsyncStorage().write(handler -> handler.pruneRounds(PRUNE_CHUNK_SIZE));
     }
 
     /**
@@ -114,7 +162,12 @@ public class TournamentManager {
      * @param reload Indicates whether the plugin is being reloaded. If true, some operations may be skipped.
      */
     public void onDisable(boolean reload) {
+        // Everything below has to be saved before the plugin disables, so blocking calls are expected.
+        disabling = true;
+        plugin.getStorageManager().setBlockingAllowed(true);
         timerTask.cancel();
+        scoreTask.cancel();
+        pruneTask.cancel();
         Bukkit.getScheduler().cancelTasks(plugin);
         plugin.getLogger().info("Saving player data to database..");
         StorageHandler handler = plugin.getStorageManager().getStorageHandler();
@@ -122,17 +175,20 @@ public class TournamentManager {
         tournaments.values().forEach(tournament -> {
             for (Player player : Bukkit.getOnlinePlayers()) {
                 UUID uuid = player.getUniqueId();
-                handler.setPlayerScore(tournament.getIdentifier(), uuid.toString(), tournament.getScore(uuid));
+                handler.setPlayerScore(tournament.getIdentifier(), tournament.getGameUniqueId(), uuid.toString(), tournament.getScore(uuid));
                 if(!tournament.getTimeline().equals(Timeline.RANDOM)) {
                     tournament.removeParticipant(uuid);
                 }
             }
             disableTournament(tournament);
         });
+    }
 
-        if (!reload) {
-            plugin.getStorageManager().getStorageHandler().onDisable();
-        }
+    /**
+     * @return true while the plugin is disabling and the scheduler no longer runs tasks
+     */
+    public boolean isDisabling() {
+        return disabling;
     }
 
     public Set<Tournament> getTournaments(final UUID uuid) {
@@ -141,17 +197,17 @@ public class TournamentManager {
 
     public void loadPlayerCache(Player player) {
         UUID uuid = player.getUniqueId();
-        StorageHandler handler = plugin.getStorageManager().getStorageHandler();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        // Queued with the writes, so the scores saved when the player last quit are in place before they are read.
+        plugin.getStorageManager().getAsyncStorage().run(handler -> {
 
             List<String> actions = new ArrayList<>(handler.getPlayerQueueActions(uuid.toString()));
             if (!actions.isEmpty()) {
-                plugin.getStorageManager().getStorageHandler().removeQueueActions(uuid.toString());
+                handler.removeQueueActions(uuid.toString());
                 Bukkit.getScheduler().runTask(plugin, () -> plugin.getActionManager().executeActions(player, actions));
             }
 
             for (Tournament tournament : getTournaments()) {
-                int score = handler.getPlayerScore(tournament.getIdentifier(), uuid.toString());
+                long score = handler.getPlayerScore(tournament.getIdentifier(), uuid.toString());
                 if (score > -1) {
                     tournament.addParticipant(uuid, score, false);
                 } else if (tournament.isAutomaticParticipation()) {
@@ -169,18 +225,33 @@ public class TournamentManager {
         });
     }
 
+    /**
+     * Re-evaluates the world and game mode restrictions of a player for every loaded tournament.
+     *
+     * @param player The player
+     */
+    public void updateRestrictions(Player player) {
+        for (Tournament tournament : tournaments.values()) {
+            tournament.updateRestriction(player);
+        }
+    }
+
     public void savePlayerCache(UUID uuid) {
-        StorageHandler handler = plugin.getStorageManager().getStorageHandler();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            for (Tournament tournament : getTournaments(uuid)) {
-                handler.setPlayerScore(tournament.getIdentifier(), uuid.toString(), tournament.getScore(uuid));
-                tournament.removeParticipant(uuid);
-            }
-        });
+        // The score and round are read now, so a round switched before the write runs cannot receive this score.
+        for (Tournament tournament : getTournaments(uuid)) {
+            String identifier = tournament.getIdentifier();
+            UUID round = tournament.getGameUniqueId();
+            long score = tournament.getScore(uuid);
+            tournament.removeParticipant(uuid);
+            plugin.getStorageManager().getAsyncStorage().run(handler -> handler.setPlayerScore(identifier, round, uuid.toString(), score));
+        }
     }
 
-    public void registerTournament(String identifier, FileConfiguration config) {
-        if (!config.getBoolean("enabled")) return;
+    /**
+     * @return A future completed on the server thread once the tournament is enabled, or right away if it is not enabled now
+     */
+    public CompletableFuture<Void> registerTournament(String identifier, FileConfiguration config) {
+        if (!config.getBoolean("enabled")) return CompletableFuture.completedFuture(null);
 
         TournamentBuilder tournamentBuilder = getTournamentBuilder(identifier, config);
         Tournament tournament = tournamentBuilder.build();
@@ -191,10 +262,10 @@ public class TournamentManager {
         allTournaments.put(tournament, tournamentData);
         if(tournament.getTimeline().equals(Timeline.RANDOM)) {
             logger.fine("Tournament " + identifier + "skipped being enabled");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        enableTournament(identifier, config, true);
+        return enableTournament(identifier, config, true);
     }
 
     public Optional<Tournament> getTournament(String identifier) {
@@ -228,18 +299,42 @@ public class TournamentManager {
         return builder;
     }
 
-    public void enableTournament(String identifier, FileConfiguration config, boolean clearParticipants) {
+    /**
+     * Migrates the tournament's legacy scores and loads its active round on the storage writer,
+     * then starts the tournament on the server thread.
+     *
+     * @return A future completed on the server thread once the tournament is enabled
+     */
+    public CompletableFuture<Void> enableTournament(String identifier, FileConfiguration config, boolean clearParticipants) {
         TournamentBuilder tournamentBuilder = getTournamentBuilder(identifier, config);
         Tournament tournament = tournamentBuilder.build();
+
+        CompletableFuture<Void> enabled = new CompletableFuture<>();
+        plugin.getStorageManager().getAsyncStorage().run(handler -> handler.createTournamentTable(identifier))
+                .whenComplete((result, failure) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    try {
+                        startTournament(identifier, config, tournament, clearParticipants);
+                    } finally {
+                        enabled.complete(null);
+                    }
+                }));
+        return enabled;
+    }
+
+    private void startTournament(String identifier, FileConfiguration config, Tournament tournament, boolean clearParticipants) {
         XLObjective objective = tournament.getObjective();
         Logger logger = plugin.getLogger();
 
-        plugin.getStorageManager().getStorageHandler().createTournamentTable(identifier);
         tournament.updateStatus();
         tournament.start(clearParticipants);
         if (!objective.loadTournament(tournament, config)) {
             logger.severe("The objective (\" + obj + \") in file \" + identifier + \" did not load correctly. Skipping..");
         }
+        if (tournament.hasRestrictions()) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                tournament.updateRestriction(player);
+            }
+        }
         objective.addTournament(tournament);
 
         tournaments.put(identifier, tournament);
@@ -0,0 +1,154 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.utility;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive longs. Lookups do not allocate.
+ * Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private boolean containsZero;
+    private int size;
+    private int mask;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) capacity <<= 1;
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public static LongHashSet of(long[] values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) set.add(value);
+        return set;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) return containsZero;
+        int index = index(value);
+        long key;
+        while ((key = keys[index]) != 0) {
+            if (key == value) return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the value was not in the set yet
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = index(value);
+        long key;
+        while ((key = keys[index]) != 0) {
+            if (key == value) return false;
+            index = (index + 1) & mask;
+        }
+        keys[index] = value;
+        if (++size > keys.length * 3 / 4) rehash(keys.length << 1);
+        return true;
+    }
+
+    /**
+     * @return true if the value was in the set
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int index = index(value);
+        long key;
+        while ((key = keys[index]) != 0) {
+            if (key == value) {
+                shiftKeys(index);
+                size--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public long[] toArray() {
+        long[] array = new long[size];
+        int index = 0;
+        if (containsZero) array[index++] = 0;
+        for (long key : keys) {
+            if (key != 0) array[index++] = key;
+        }
+        return array;
+    }
+
+    /**
+     * Closes the gap left by a removed key, so probe sequences stay unbroken.
+     */
+    private void shiftKeys(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long key = keys[index];
+            if (key == 0) break;
+            int home = index(key);
+            // Move the key into the gap unless its home slot lies cyclically in (gap, index].
+            if (gap <= index ? (home <= gap || home > index) : (home <= gap && home > index)) {
+                keys[gap] = key;
+                gap = index;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : old) {
+            if (key == 0) continue;
+            int index = index(key);
+            while (keys[index] != 0) index = (index + 1) & mask;
+            keys[index] = key;
+        }
+    }
+
+    private int index(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
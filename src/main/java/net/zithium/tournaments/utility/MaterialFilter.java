@@ -0,0 +1,115 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.utility;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * A material whitelist compiled once from config entries, so matching is a single bit test.
+ * <p>
+ * Entries can be a material name ({@code STONE}), a wildcard pattern ({@code *_ORE}) or a
+ * block/item tag ({@code #minecraft:logs}).
+ */
+public final class MaterialFilter {
+
+    /**
+     * A filter that matches every material, used when no whitelist is configured.
+     */
+    public static final MaterialFilter ALL = new MaterialFilter(null);
+
+    private final Set<Material> materials;
+
+    private MaterialFilter(Set<Material> materials) {
+        this.materials = materials;
+    }
+
+    /**
+     * @param entries  The configured material names, wildcard patterns and tags
+     * @param registry The tag registry to resolve tags from, {@link Tag#REGISTRY_BLOCKS} or {@link Tag#REGISTRY_ITEMS}
+     * @param logger   Logger to report entries that do not match any material
+     * @return The compiled filter
+     */
+    public static MaterialFilter compile(List<String> entries, String registry, Logger logger) {
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+
+        for (String entry : entries) {
+            String value = entry.trim();
+            boolean matched = false;
+
+            if (value.startsWith("#")) {
+                NamespacedKey key = NamespacedKey.fromString(value.substring(1).toLowerCase(Locale.ROOT));
+                Tag<Material> tag = key == null ? null : Bukkit.getTag(registry, key, Material.class);
+                if (tag != null) {
+                    materials.addAll(tag.getValues());
+                    matched = !tag.getValues().isEmpty();
+                }
+            } else if (value.contains("*")) {
+                Pattern pattern = Pattern.compile(Pattern.quote(value.toUpperCase(Locale.ROOT)).replace("*", "\\E.*\\Q"));
+                for (Material material : Material.values()) {
+                    if (!material.isLegacy() && pattern.matcher(material.name()).matches()) {
+                        materials.add(material);
+                        matched = true;
+                    }
+                }
+            } else {
+                Material material = Material.matchMaterial(value);
+                if (material != null) {
+                    materials.add(material);
+                    matched = true;
+                }
+            }
+
+            if (!matched) {
+                logger.warning("Material whitelist entry '" + entry + "' did not match any material.");
+            }
+        }
+        return new MaterialFilter(materials);
+    }
+
+    /**
+     * @param excluded The materials to remove from this filter
+     * @return A filter matching what this filter matches, except the materials matched by {@code excluded}
+     */
+    public MaterialFilter without(MaterialFilter excluded) {
+        if (excluded.materials == null) return new MaterialFilter(EnumSet.noneOf(Material.class));
+
+        Set<Material> remaining = materials == null ? EnumSet.allOf(Material.class) : EnumSet.copyOf(materials);
+        remaining.removeAll(excluded.materials);
+        return new MaterialFilter(remaining);
+    }
+
+    /**
+     * @param material The material to test
+     * @return true if the material is whitelisted
+     */
+    public boolean matches(Material material) {
+        return materials == null || materials.contains(material);
+    }
+
+    /**
+     * @return The matched materials, or null if this filter matches every material
+     */
+    Set<Material> getMaterials() {
+        return materials;
+    }
+
+    /**
+     * @return true if this filter matches every material
+     */
+    public boolean isAll() {
+        return materials == null;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * XLTournaments Plugin
+ * Copyright (c) 2023 Zithium Studios. All rights reserved.
+ */
+
+package net.zithium.tournaments.utility;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Points awarded per material or entity type, compiled into an array indexed by enum ordinal so
+ * looking up a weight is a single array read.
+ * <pre>
+ * points:
+ *   default: 1
+ *   DIAMOND_ORE: 25
+ *   "*_LOG": 2
+ *   "#minecraft:coal_ores": 5
+ * </pre>
+ * Types not listed are worth the {@code default} value, which is 1 unless configured.
+ */
+public final class PointTable {
+
+    /**
+     * A table where everything is worth one point, used when no points are configured.
+     */
+    public static final PointTable FLAT = new PointTable(null, 1);
+
+    private static final String DEFAULT_KEY = "default";
+
+    private final int[] points;
+    private final int defaultPoints;
+
+    private PointTable(int[] points, int defaultPoints) {
+        this.points = points;
+        this.defaultPoints = defaultPoints;
+    }
+
+    /**
+     * @param section  The configured points, keyed by material name, wildcard pattern or tag
+     * @param registry The tag registry to resolve tags from
+     * @param logger   Logger to report invalid entries
+     * @return The compiled table
+     */
+    public static PointTable compileMaterials(ConfigurationSection section, String registry, Logger logger) {
+        int defaultPoints = section.getInt(DEFAULT_KEY, 1);
+        int[] points = new int[Material.values().length];
+        Arrays.fill(points, defaultPoints);
+
+        for (String key : section.getKeys(false)) {
+            if (key.equalsIgnoreCase(DEFAULT_KEY)) continue;
+            if (!section.isInt(key)) {
+                logger.warning("Points for '" + key + "' must be a whole number.");
+                continue;
+            }
+
+            int value = section.getInt(key);
+            MaterialFilter filter = MaterialFilter.compile(Collections.singletonList(key), registry, logger);
+            for (Material material : filter.getMaterials()) {
+                points[material.ordinal()] = value;
+            }
+        }
+        return new PointTable(points, defaultPoints);
+    }
+
+    /**
+     * @param section The configured points, keyed by entity type name
+     * @param logger  Logger to report invalid entries
+     * @return The compiled table
+     */
+    public static PointTable compileEntities(ConfigurationSection section, Logger logger) {
+        int defaultPoints = section.getInt(DEFAULT_KEY, 1);
+        int[] points = new int[EntityType.values().length];
+        Arrays.fill(points, defaultPoints);
+
+        for (String key : section.getKeys(false)) {
+            if (key.equalsIgnoreCase(DEFAULT_KEY)) continue;
+            if (!section.isInt(key)) {
+                logger.warning("Points for '" + key + "' must be a whole number.");
+                continue;
+            }
+
+            try {
+                points[EntityType.valueOf(key.toUpperCase(Locale.ROOT)).ordinal()] = section.getInt(key);
+            } catch (IllegalArgumentException e) {
+                logger.warning("Unknown entity type '" + key + "' in points table.");
+            }
+        }
+        return new PointTable(points, defaultPoints);
+    }
+
+    /**
+     * @param type The material or entity type this table was compiled for
+     * @return The points the type is worth
+     */
+    public int get(Enum<?> type) {
+        return points == null ? defaultPoints : points[type.ordinal()];
+    }
+}
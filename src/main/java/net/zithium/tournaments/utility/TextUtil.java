@@ -34,7 +34,7 @@ public class TextUtil {
         return !(hash.charAt(0) + hash + hash.charAt(0)).equals("%%__USER__%%");
     }
 
-    public static String getNumberFormatted(int value) {
+    public static String getNumberFormatted(long value) {
         return NUMBER_FORMAT.format(value);
     }
 
@@ -63,17 +63,20 @@ public class TextUtil {
         UUID uuid = player != null ? player.getUniqueId() : null;
         FileConfiguration config = XLTournamentsPlugin.getPlugin(XLTournamentsPlugin.class).getMessagesFile().getConfig();
 
+        int position = uuid != null ? tournament.getPosition(uuid) : 0;
+        long score = uuid != null ? tournament.getScore(uuid) : 0;
+
         text = uuid != null ? text.replace("{START_DAY}", tournament.getStartDay())
                 .replace("{END_DAY}", tournament.getEndDay())
                 .replace("{START_MONTH}", tournament.getStartMonth())
                 .replace("{START_MONTH_NUMBER}", tournament.getStartMonthNumber())
                 .replace("{END_MONTH_NUMBER}", tournament.getEndMonthNumber())
                 .replace("{END_MONTH}", tournament.getEndMonth())
-                .replace("{PLAYER_POSITION}", String.valueOf(tournament.getPosition(uuid)))
-                .replace("{PLAYER_POSITION_FORMATTED}", TextUtil.getNumberFormatted(tournament.getPosition(uuid)))
-                .replace("{PLAYER_SCORE}", String.valueOf(tournament.getScore(uuid)))
-                .replace("{PLAYER_SCORE_FORMATTED}", TextUtil.getNumberFormatted(tournament.getScore(uuid)))
-                .replace("{PLAYER_SCORE_TIME_FORMATTED}", TimeUtil.formatTime(tournament.getScore(uuid)))
+                .replace("{PLAYER_POSITION}", String.valueOf(position))
+                .replace("{PLAYER_POSITION_FORMATTED}", TextUtil.getNumberFormatted(position))
+                .replace("{PLAYER_SCORE}", String.valueOf(score))
+                .replace("{PLAYER_SCORE_FORMATTED}", TextUtil.getNumberFormatted(score))
+                .replace("{PLAYER_SCORE_TIME_FORMATTED}", TimeUtil.formatTime(score))
                 .replace("{TIME_REMAINING}", tournament.getTimeRemaining())
                 :
                 text.replace("{START_DAY}", tournament.getStartDay())